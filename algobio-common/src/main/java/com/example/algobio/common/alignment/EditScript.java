@@ -0,0 +1,83 @@
+package com.example.algobio.common.alignment;
+
+// ------------------------------------------------------
+// Script d'édition compact (type CIGAR) d'un alignement
+// ------------------------------------------------------
+// Suite de runs <longueur><op> :
+//   M : une base de seq1 face à une base de seq2 (match ou mismatch)
+//   D : une base de seq1 face à un gap
+//   I : un gap face à une base de seq2
+// Les bases ne sont pas stockées : elles sont relues dans seq1 / seq2 à partir de
+// start1 / start2 (0 pour un alignement global, début de la fenêtre pour SW).
+// "" = alignement vide (distance d'édition, SW de score 0).
+public final class EditScript {
+
+    public record Rendered(String aligned1, String aligned2) {}
+
+    private EditScript() {}
+
+    public static String encode(CharSequence aligned1, CharSequence aligned2) {
+        if (aligned1.length() != aligned2.length()) {
+            throw new IllegalArgumentException("Alignement invalide: longueurs différentes.");
+        }
+        StringBuilder out = new StringBuilder();
+        char op = 0;
+        int run = 0;
+        for (int k = 0; k < aligned1.length(); k++) {
+            char c = column(aligned1.charAt(k), aligned2.charAt(k));
+            if (c == op) {
+                run++;
+                continue;
+            }
+            if (run > 0) out.append(run).append(op);
+            op = c;
+            run = 1;
+        }
+        if (run > 0) out.append(run).append(op);
+        return out.toString();
+    }
+
+    public static Rendered render(String script, String seq1, int start1, String seq2, int start2) {
+        StringBuilder al1 = new StringBuilder();
+        StringBuilder al2 = new StringBuilder();
+        int i = start1, j = start2;
+        int run = 0;
+        for (int k = 0; k < script.length(); k++) {
+            char c = script.charAt(k);
+            if (c >= '0' && c <= '9') {
+                run = run * 10 + (c - '0');
+                continue;
+            }
+            switch (c) {
+                case 'M' -> {
+                    al1.append(seq1, i, i + run);
+                    al2.append(seq2, j, j + run);
+                    i += run; j += run;
+                }
+                case 'D' -> {
+                    al1.append(seq1, i, i + run);
+                    gaps(al2, run);
+                    i += run;
+                }
+                case 'I' -> {
+                    gaps(al1, run);
+                    al2.append(seq2, j, j + run);
+                    j += run;
+                }
+                default -> throw new IllegalArgumentException("Script d'édition invalide: " + c);
+            }
+            run = 0;
+        }
+        return new Rendered(al1.toString(), al2.toString());
+    }
+
+    private static void gaps(StringBuilder sb, int count) {
+        for (int k = 0; k < count; k++) sb.append('-');
+    }
+
+    private static char column(char a, char b) {
+        if (a == '-') return 'I';
+        if (b == '-') return 'D';
+        return 'M';
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.algobio.common.dna;
+
+import java.util.Arrays;
+
+// ------------------------------------------------------
+// Séquence ADN compacte : 2 bits par base, 32 bases par long
+// ------------------------------------------------------
+// Codes : A=0, C=1, G=2, T=3, donc complément(c) = 3 - c.
+// La validation et l'encodage se font en une seule passe (espaces ignorés,
+// minuscules acceptées), à la place du replaceAll + matches("[ATCG]+").
+public final class PackedDna {
+
+    public static final String INVALID_MESSAGE = "Séquence invalide: uniquement A,T,C,G.";
+
+    private static final int BASES_PER_WORD = 32;
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+    private static final byte SKIP = -2, INVALID = -1;
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Arrays.fill(CODES, INVALID);
+        CODES['A'] = 0; CODES['a'] = 0;
+        CODES['C'] = 1; CODES['c'] = 1;
+        CODES['G'] = 2; CODES['g'] = 2;
+        CODES['T'] = 3; CODES['t'] = 3;
+        // mêmes blancs que \s dans cleanDNA
+        for (char c : new char[]{' ', '\t', '\n', '\u000B', '\f', '\r'}) CODES[c] = SKIP;
+    }
+
+    private final long[] words;
+    private final int length;
+
+    private PackedDna(long[] words, int length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    public static PackedDna parse(CharSequence s) {
+        Builder builder = new Builder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            byte code = c < 128 ? CODES[c] : INVALID;
+            if (code == SKIP) continue;
+            if (code == INVALID) throw new IllegalArgumentException(INVALID_MESSAGE);
+            builder.append(code);
+        }
+        return builder.build();
+    }
+
+    public static PackedDna parse(byte[] ascii) {
+        Builder builder = new Builder(ascii.length);
+        for (byte c : ascii) {
+            byte code = c >= 0 ? CODES[c] : INVALID;
+            if (code == SKIP) continue;
+            if (code == INVALID) throw new IllegalArgumentException(INVALID_MESSAGE);
+            builder.append(code);
+        }
+        return builder.build();
+    }
+
+    public static PackedDna fromCodes(byte[] codes, int from, int to) {
+        Builder builder = new Builder(to - from);
+        for (int i = from; i < to; i++) builder.append(codes[i]);
+        return builder.build();
+    }
+
+    public static char base(int code) {
+        return BASES[code];
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int codeAt(int i) {
+        if (i < 0 || i >= length) throw new IndexOutOfBoundsException(i);
+        return (int) (words[i >>> 5] >>> ((i & 31) << 1)) & 3;
+    }
+
+    public char charAt(int i) {
+        return BASES[codeAt(i)];
+    }
+
+    // codes dépaquetés (un octet par base) pour les boucles internes des noyaux
+    public byte[] toCodes() {
+        return toCodes(new byte[length]);
+    }
+
+    // même chose dans un tampon réutilisé (codes.length >= length ; le reste n'est pas touché)
+    public byte[] toCodes(byte[] codes) {
+        if (codes.length < length) throw new IndexOutOfBoundsException(codes.length + " < " + length);
+        for (int w = 0, i = 0; i < length; w++) {
+            long word = words[w];
+            int end = Math.min(length, i + BASES_PER_WORD);
+            for (; i < end; i++, word >>>= 2) codes[i] = (byte) (word & 3);
+        }
+        return codes;
+    }
+
+    public PackedDna subsequence(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") hors de [0, " + length + ")");
+        }
+        Builder builder = new Builder(to - from);
+        for (int i = from; i < to; i++) builder.append(codeAt(i));
+        return builder.build();
+    }
+
+    public PackedDna reverseComplement() {
+        Builder builder = new Builder(length);
+        for (int i = length - 1; i >= 0; i--) builder.append(3 - codeAt(i));
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        char[] out = new char[length];
+        for (int w = 0, i = 0; i < length; w++) {
+            long word = words[w];
+            int end = Math.min(length, i + BASES_PER_WORD);
+            for (; i < end; i++, word >>>= 2) out[i] = BASES[(int) (word & 3)];
+        }
+        return new String(out);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PackedDna other)) return false;
+        return length == other.length && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * length + Arrays.hashCode(words);
+    }
+
+    // Construction incrémentale (parse, mutations) ; les bits au-delà de length restent à 0.
+    public static final class Builder {
+        private long[] words;
+        private int length;
+
+        public Builder(int capacity) {
+            this.words = new long[Math.max(1, (capacity + BASES_PER_WORD - 1) / BASES_PER_WORD)];
+        }
+
+        public Builder append(int code) {
+            int w = length >>> 5;
+            if (w == words.length) words = Arrays.copyOf(words, words.length * 2);
+            words[w] |= (long) code << ((length & 31) << 1);
+            length++;
+            return this;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public PackedDna build() {
+            return new PackedDna(Arrays.copyOf(words, (length + BASES_PER_WORD - 1) / BASES_PER_WORD), length);
+        }
+    }
+}
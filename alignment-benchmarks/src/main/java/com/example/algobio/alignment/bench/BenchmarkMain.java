@@ -0,0 +1,25 @@
+package com.example.algobio.alignment.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Point d'entrée de benchmarks.jar : mêmes options que org.openjdk.jmh.Main, avec le profileur GC
+// activé d'office (gc.alloc.rate / gc.alloc.rate.norm = octets alloués par appel).
+//   java -jar alignment-benchmarks/target/benchmarks.jar [filtre] [-p param=v1,v2] [-rf json -rff out.json]
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
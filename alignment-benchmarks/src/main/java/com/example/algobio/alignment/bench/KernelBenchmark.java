@@ -0,0 +1,91 @@
+package com.example.algobio.alignment.bench;
+
+import com.example.algobio.alignment.algorithm.Alignment;
+import com.example.algobio.alignment.algorithm.Hirschberg;
+import com.example.algobio.alignment.algorithm.MyersEditDistance;
+import com.example.algobio.alignment.algorithm.NeedlemanWunsch;
+import com.example.algobio.alignment.algorithm.SmithWaterman;
+import com.example.algobio.alignment.algorithm.StripedSmithWaterman;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// ------------------------------------------------------
+// Noyaux d'alignement : débit (cellules/s) et latence
+// ------------------------------------------------------
+// throughput : ops/s et compteur auxiliaire "cells" (n x m par appel) => cellules/s
+// latency    : mode échantillonné, percentiles p50 / p90 / p99 / p99.9
+// Chaque combinaison (kernel, length, similarity) est une paire fixe (SequencePair).
+// NEEDLEMAN_WUNSCH / SMITH_WATERMAN gardent un traceback complet à 2 bits par cellule : ~25 Mo
+// à 10000 (au-delà du plafond de DpArena, alloué à chaque appel), -Xmx512m suffit.
+// Filtrer avec -p, ex. : java -jar benchmarks.jar KernelBenchmark -p kernel=HIRSCHBERG -p length=10000
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m", "--add-modules", "jdk.incubator.vector"})
+public class KernelBenchmark {
+
+    public enum Kernel {
+        NEEDLEMAN_WUNSCH, HIRSCHBERG, SMITH_WATERMAN, STRIPED_SMITH_WATERMAN, MYERS
+    }
+
+    @Param({"NEEDLEMAN_WUNSCH", "HIRSCHBERG", "SMITH_WATERMAN", "STRIPED_SMITH_WATERMAN", "MYERS"})
+    public Kernel kernel;
+
+    @Param({"100", "1000", "10000"})
+    public int length;
+
+    @Param({"0.5", "0.9", "0.99"})
+    public double similarity;
+
+    private SequencePair pair;
+    private StripedSmithWaterman.Profile profile;
+    private MyersEditDistance.Pattern pattern;
+    private long cellsPerCall;
+
+    // compteur reporté par JMH comme un débit : cellules DP par seconde
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Cells {
+        public long cells;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pair = SequencePair.generate(length, similarity);
+        // précalculs faits une fois par requête dans AlignmentService : hors mesure
+        profile = StripedSmithWaterman.profile(pair.seq2);
+        pattern = MyersEditDistance.pattern(pair.seq2);
+        cellsPerCall = (long) pair.seq1.length() * pair.seq2.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object throughput(Cells counters) {
+        counters.cells += cellsPerCall;
+        return run();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object latency() {
+        return run();
+    }
+
+    private Object run() {
+        return switch (kernel) {
+            case NEEDLEMAN_WUNSCH -> NeedlemanWunsch.align(pair.seq1, pair.seq2);
+            case HIRSCHBERG -> Hirschberg.align(pair.seq1, pair.seq2);
+            case SMITH_WATERMAN -> SmithWaterman.align(pair.seq1, pair.seq2);
+            case STRIPED_SMITH_WATERMAN -> StripedSmithWaterman.align(pair.seq1, profile);
+            case MYERS -> MyersEditDistance.distance(pattern, pair.seq1);
+        };
+    }
+
+    // pour les autres benchmarks : un alignement de référence de la paire
+    static Alignment reference(SequencePair pair) {
+        return Hirschberg.align(pair.seq1, pair.seq2);
+    }
+}
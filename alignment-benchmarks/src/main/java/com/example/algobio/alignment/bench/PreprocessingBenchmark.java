@@ -0,0 +1,57 @@
+package com.example.algobio.alignment.bench;
+
+import com.example.algobio.alignment.algorithm.Alignment;
+import com.example.algobio.common.dna.PackedDna;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// ------------------------------------------------------
+// Travail hors DP d'une requête : nettoyage et identité
+// ------------------------------------------------------
+// cleanDna        : PackedDna.parse sur le texte brut (minuscules + retours à la ligne, comme un FASTA collé)
+// identityPercent : parcours des deux chaînes alignées (Alignment.identityPercent)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PreprocessingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int length;
+
+    @Param({"0.5", "0.9", "0.99"})
+    public double similarity;
+
+    private String raw;
+    private String aligned1;
+    private String aligned2;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SequencePair pair = SequencePair.generate(length, similarity);
+
+        StringBuilder sb = new StringBuilder(length + length / 60 + 1);
+        String s = pair.seq1.toString().toLowerCase();
+        for (int i = 0; i < s.length(); i += 60) {
+            sb.append(s, i, Math.min(s.length(), i + 60)).append('\n');
+        }
+        raw = sb.toString();
+
+        Alignment al = KernelBenchmark.reference(pair);
+        aligned1 = al.aligned1();
+        aligned2 = al.aligned2();
+    }
+
+    @Benchmark
+    public PackedDna cleanDna() {
+        return PackedDna.parse(raw);
+    }
+
+    @Benchmark
+    public double identityPercent() {
+        return Alignment.identityPercent(aligned1, aligned2);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.algobio.alignment.bench;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import java.util.SplittableRandom;
+
+// ------------------------------------------------------
+// Paires de séquences reproductibles pour les benchmarks
+// ------------------------------------------------------
+// seq1 aléatoire de `length` bases ; seq2 = seq1 avec round((1 - similarity) * length)
+// modifications (80 % substitutions, 10 % insertions, 10 % délétions). Graine fixe :
+// deux exécutions comparent exactement les mêmes entrées.
+final class SequencePair {
+
+    private static final long SEED = 42;
+
+    final PackedDna seq1;
+    final PackedDna seq2;
+
+    private SequencePair(PackedDna seq1, PackedDna seq2) {
+        this.seq1 = seq1;
+        this.seq2 = seq2;
+    }
+
+    static SequencePair generate(int length, double similarity) {
+        SplittableRandom rnd = new SplittableRandom(SEED ^ ((long) length << 20) ^ Double.doubleToLongBits(similarity));
+
+        byte[] a = new byte[length];
+        for (int i = 0; i < length; i++) a[i] = (byte) rnd.nextInt(4);
+
+        int edits = (int) Math.round((1.0 - similarity) * length);
+        byte[] b = a.clone();
+        int len = length;
+        for (int k = 0; k < edits && len > 1; k++) {
+            int pos = rnd.nextInt(len);
+            int kind = rnd.nextInt(10);
+            if (kind < 8) {
+                b[pos] = (byte) ((b[pos] + 1 + rnd.nextInt(3)) & 3);
+            } else if (kind == 8) {
+                byte[] grown = new byte[len + 1];
+                System.arraycopy(b, 0, grown, 0, pos);
+                grown[pos] = (byte) rnd.nextInt(4);
+                System.arraycopy(b, pos, grown, pos + 1, len - pos);
+                b = grown;
+                len++;
+            } else {
+                System.arraycopy(b, pos + 1, b, pos, len - pos - 1);
+                len--;
+            }
+        }
+
+        return new SequencePair(PackedDna.fromCodes(a, 0, length), PackedDna.fromCodes(b, 0, len));
+    }
+}
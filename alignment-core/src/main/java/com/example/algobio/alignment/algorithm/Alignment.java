@@ -0,0 +1,32 @@
+package com.example.algobio.alignment.algorithm;
+
+// start1 / start2 : position de la première colonne dans a / b (0 pour un alignement global)
+public record Alignment(String aligned1, String aligned2, int score, int start1, int start2) {
+
+    public Alignment(String aligned1, String aligned2, int score) {
+        this(aligned1, aligned2, score, 0, 0);
+    }
+
+    public double identityPercent() {
+        return identityPercent(aligned1, aligned2);
+    }
+
+    // % de colonnes identiques parmi les colonnes comparables (gap face à gap ignoré)
+    public static double identityPercent(String a, String b) {
+        int len = Math.min(a.length(), b.length());
+        if (len == 0) return 0.0;
+
+        int matches = 0;
+        int comparable = 0;
+
+        for (int i = 0; i < len; i++) {
+            char c1 = a.charAt(i);
+            char c2 = b.charAt(i);
+            if (c1 == '-' && c2 == '-') continue;
+            comparable++;
+            if (c1 == c2) matches++;
+        }
+
+        return comparable == 0 ? 0.0 : (matches * 100.0) / comparable;
+    }
+}
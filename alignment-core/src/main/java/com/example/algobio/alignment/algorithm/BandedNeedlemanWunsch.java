@@ -0,0 +1,136 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import java.util.Arrays;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.MATCH;
+import static com.example.algobio.alignment.algorithm.Scoring.substitution;
+
+// ------------------------------------------------------
+// Needleman–Wunsch en bande (paires presque identiques)
+// ------------------------------------------------------
+// On ne remplit que les diagonales d = j - i dans [lo, hi], avec
+// lo = min(0, m - n) - w et hi = max(0, m - n) + w. Un chemin qui sort de la bande
+// contient au moins gMin gaps, donc son score est borné par outsideBound() : si le
+// score en bande est strictement supérieur, aucun chemin optimal ne sort de la bande
+// et le traceback est exactement celui de la matrice complète. Sinon on double w.
+public final class BandedNeedlemanWunsch {
+
+    private static final int NEG = Integer.MIN_VALUE / 2;
+    private static final byte D = 0, U = 1, L = 2;
+
+    private BandedNeedlemanWunsch() {}
+
+    // null si la bande nécessaire dépasse maxCells (l'appelant repasse sur NW classique)
+    public static Alignment align(PackedDna a, PackedDna b, int maxEdits, long maxCells) {
+        return align(a, b, maxEdits, maxCells, Progress.NONE);
+    }
+
+    public static Alignment align(PackedDna a, PackedDna b, int maxEdits, long maxCells, Progress progress) {
+        int n = a.length(), m = b.length();
+        int w = Math.max(1, maxEdits);
+
+        while (true) {
+            int lo = Math.max(-n, Math.min(0, m - n) - w);
+            int hi = Math.min(m, Math.max(0, m - n) + w);
+            int width = hi - lo + 1;
+            if ((long) (n + 1) * width > maxCells) return null;
+
+            Alignment al = alignInBand(a.toCodes(), b.toCodes(), lo, hi, progress);
+            if (al.score() > outsideBound(n, m, lo, hi)) return al;
+            if (lo == -n && hi == m) return al;
+
+            w *= 2;
+        }
+    }
+
+    // meilleur score possible pour un chemin qui touche une diagonale hors de [lo, hi]
+    private static long outsideBound(int n, int m, int lo, int hi) {
+        long gMin = Long.MAX_VALUE;
+        if (lo > -n) gMin = Math.min(gMin, gapsThrough(lo - 1, n, m));
+        if (hi < m) gMin = Math.min(gMin, gapsThrough(hi + 1, n, m));
+        if (gMin == Long.MAX_VALUE) return Long.MIN_VALUE;
+        return MATCH * ((n + m - gMin) / 2) + GAP * gMin;
+    }
+
+    private static long gapsThrough(int d, int n, int m) {
+        return Math.abs(d) + Math.abs(d - (m - n));
+    }
+
+    private static Alignment alignInBand(byte[] a, byte[] b, int lo, int hi, Progress progress) {
+        int n = a.length, m = b.length;
+        int width = hi - lo + 1;
+
+        // cellule (i, j) -> indice k = j - i - lo dans la ligne i
+        int[] prev = new int[width], cur = new int[width];
+        byte[] trace = new byte[(n + 1) * width];
+        progress.allocated((long) (n + 1) * width + 2L * width * Integer.BYTES);
+
+        Arrays.fill(prev, NEG);
+        for (int j = 0; j <= hi; j++) {
+            prev[j - lo] = j * GAP;
+            trace[j - lo] = L;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            Arrays.fill(cur, NEG);
+            int jFrom = Math.max(0, i + lo), jTo = Math.min(m, i + hi);
+            int ca = a[i - 1];
+            int row = i * width;
+
+            for (int j = jFrom; j <= jTo; j++) {
+                int k = j - i - lo;
+                if (j == 0) {
+                    cur[k] = i * GAP;
+                    trace[row + k] = U;
+                    continue;
+                }
+
+                int diag = prev[k] + substitution(ca, b[j - 1]);
+                int up = k + 1 < width ? prev[k + 1] + GAP : NEG;
+                int left = j > jFrom ? cur[k - 1] + GAP : NEG;
+
+                int best = diag;
+                byte t = D;
+                if (up > best) { best = up; t = U; }
+                if (left > best) { best = left; t = L; }
+
+                cur[k] = best;
+                trace[row + k] = t;
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+            progress.rows(1, width);
+        }
+
+        progress.fillDone();
+
+        StringBuilder alA = new StringBuilder(n + m);
+        StringBuilder alB = new StringBuilder(n + m);
+        int i = n, j = m;
+
+        while (i > 0 || j > 0) {
+            byte t = trace[i * width + (j - i - lo)];
+            if (i > 0 && j > 0 && t == D) {
+                alA.append(PackedDna.base(a[i - 1]));
+                alB.append(PackedDna.base(b[j - 1]));
+                i--; j--;
+            } else if (i > 0 && (j == 0 || t == U)) {
+                alA.append(PackedDna.base(a[i - 1]));
+                alB.append('-');
+                i--;
+            } else {
+                alA.append('-');
+                alB.append(PackedDna.base(b[j - 1]));
+                j--;
+            }
+        }
+
+        alA.reverse();
+        alB.reverse();
+
+        return new Alignment(alA.toString(), alB.toString(), prev[m - n - lo]);
+    }
+}
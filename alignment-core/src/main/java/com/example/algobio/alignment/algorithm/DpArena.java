@@ -0,0 +1,96 @@
+package com.example.algobio.alignment.algorithm;
+
+// ------------------------------------------------------
+// Tampons DP réutilisés, un jeu par thread
+// ------------------------------------------------------
+// Lignes de score, traceback compacté, codes des séquences et sorties du traceback :
+// au régime établi (mêmes ordres de grandeur de longueurs), un alignement n'alloue plus
+// que ses chaînes résultat. Le contenu rendu n'est PAS remis à zéro : chaque noyau
+// initialise ce qu'il lit.
+// Règle d'usage : un noyau a fini avec ses tampons avant d'en appeler un autre sur le même
+// thread (fenêtre NW de StripedSmithWaterman, cas de base de Hirschberg : appels en série,
+// types de tampons distincts). Les noyaux qui fork/join (Wavefront, passes parallèles)
+// n'y touchent pas : un thread qui aide au join pourrait exécuter un autre alignement.
+// Au-delà de MAX_RETAINED_BYTES, le tableau est alloué pour l'appel et pas conservé :
+// une très grosse requête ne fixe pas sa mémoire sur le thread pour toujours.
+final class DpArena {
+
+    static final long MAX_RETAINED_BYTES = 16L << 20;
+
+    private static final ThreadLocal<DpArena> LOCAL = ThreadLocal.withInitial(DpArena::new);
+
+    private final int[][] ints = new int[6][];
+    private final short[][] shorts = new short[10][];
+    private final byte[][] bytes = new byte[2][];
+    private long[] trace;
+    private char[] outA, outB;
+
+    private DpArena() {}
+
+    static DpArena get() {
+        return LOCAL.get();
+    }
+
+    int[] ints(int slot, int size) {
+        int[] a = ints[slot];
+        if (a != null && a.length >= size) return a;
+        a = new int[capacity(a == null ? 0 : a.length, size, Integer.BYTES)];
+        if (retained(a.length, Integer.BYTES)) ints[slot] = a;
+        return a;
+    }
+
+    short[] shorts(int slot, int size) {
+        short[] a = shorts[slot];
+        if (a != null && a.length >= size) return a;
+        a = new short[capacity(a == null ? 0 : a.length, size, Short.BYTES)];
+        if (retained(a.length, Short.BYTES)) shorts[slot] = a;
+        return a;
+    }
+
+    byte[] bytes(int slot, int size) {
+        byte[] a = bytes[slot];
+        if (a != null && a.length >= size) return a;
+        a = new byte[capacity(a == null ? 0 : a.length, size, Byte.BYTES)];
+        if (retained(a.length, Byte.BYTES)) bytes[slot] = a;
+        return a;
+    }
+
+    long[] trace(long words) {
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrice trop grande pour un traceback complet : " + words + " mots.");
+        }
+        int size = (int) words;
+        long[] a = trace;
+        if (a != null && a.length >= size) return a;
+        a = new long[capacity(a == null ? 0 : a.length, size, Long.BYTES)];
+        if (retained(a.length, Long.BYTES)) trace = a;
+        return a;
+    }
+
+    char[] outA(int size) {
+        char[] a = outA;
+        if (a != null && a.length >= size) return a;
+        a = new char[capacity(a == null ? 0 : a.length, size, Character.BYTES)];
+        if (retained(a.length, Character.BYTES)) outA = a;
+        return a;
+    }
+
+    char[] outB(int size) {
+        char[] a = outB;
+        if (a != null && a.length >= size) return a;
+        a = new char[capacity(a == null ? 0 : a.length, size, Character.BYTES)];
+        if (retained(a.length, Character.BYTES)) outB = a;
+        return a;
+    }
+
+    // croissance x1.5 tant que le résultat reste conservable, sinon la taille exacte
+    private static int capacity(int current, int size, int elementBytes) {
+        long grown = current + (current >> 1);
+        if (grown > size && grown * elementBytes <= MAX_RETAINED_BYTES) return (int) grown;
+        return size;
+    }
+
+    private static boolean retained(int length, int elementBytes) {
+        return (long) length * elementBytes <= MAX_RETAINED_BYTES;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.substitution;
+
+// ------------------------------------------------------
+// Needleman–Wunsch en mémoire linéaire (diviser pour régner)
+// ------------------------------------------------------
+// On coupe `a` en deux à la ligne mid et on cherche la colonne j* où le chemin
+// de traceback de la matrice complète entre dans la ligne mid. Plutôt qu'une passe
+// avant + une passe arrière (Hirschberg classique, qui peut choisir un autre chemin
+// en cas d'égalité), on propage j* vers l'avant avec les mêmes règles D > U > L :
+// les deux sous-problèmes (a[..mid], b[..j*]) et (a[mid..], b[j*..]) redonnent
+// alors exactement l'alignement de NeedlemanWunsch, avec O(n + m) mémoire.
+public final class Hirschberg {
+
+    // En dessous de cette taille, un sous-problème est résolu avec la matrice complète.
+    private static final long BASE_CASE_CELLS = 1L << 16;
+
+    private Hirschberg() {}
+
+    public static Alignment align(PackedDna a, PackedDna b) {
+        return align(a, b, null);
+    }
+
+    // pool non null : les passes avant d'au moins Wavefront.MIN_CELLS cellules tournent en front d'onde
+    public static Alignment align(PackedDna a, PackedDna b, ForkJoinPool pool) {
+        return align(a, b, pool, Progress.NONE);
+    }
+
+    public static Alignment align(PackedDna a, PackedDna b, ForkJoinPool pool, Progress progress) {
+        StringBuilder alA = new StringBuilder(a.length() + b.length());
+        StringBuilder alB = new StringBuilder(a.length() + b.length());
+        solve(a.toCodes(), 0, a.length(), b.toCodes(), 0, b.length(), alA, alB, pool, progress);
+        progress.fillDone();
+
+        int score = 0;
+        for (int k = 0; k < alA.length(); k++) {
+            char x = alA.charAt(k), y = alB.charAt(k);
+            score += (x == '-' || y == '-') ? GAP : substitution(x, y);
+        }
+        return new Alignment(alA.toString(), alB.toString(), score);
+    }
+
+    static void solve(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo,
+                      StringBuilder alA, StringBuilder alB, ForkJoinPool pool, Progress progress) {
+        int rows = aTo - aFrom, cols = bTo - bFrom;
+
+        if (rows == 0) {
+            for (int j = bFrom; j < bTo; j++) { alA.append('-'); alB.append(PackedDna.base(b[j])); }
+            return;
+        }
+        if (cols == 0) {
+            for (int i = aFrom; i < aTo; i++) { alA.append(PackedDna.base(a[i])); alB.append('-'); }
+            return;
+        }
+        if (rows == 1 || (long) (rows + 1) * (cols + 1) <= BASE_CASE_CELLS) {
+            NeedlemanWunsch.align(a, aFrom, aTo, b, bFrom, bTo, alA, alB, progress);
+            return;
+        }
+
+        int mid = rows / 2;
+        int split = (pool != null && (long) rows * cols >= Wavefront.MIN_CELLS)
+                ? Wavefront.crossingColumn(a, aFrom, aTo, b, bFrom, bTo, mid, pool, progress)
+                : crossingColumn(a, aFrom, aTo, b, bFrom, bTo, mid, progress);
+
+        solve(a, aFrom, aFrom + mid, b, bFrom, bFrom + split, alA, alB, pool, progress);
+        solve(a, aFrom + mid, aTo, b, bFrom + split, bTo, alA, alB, pool, progress);
+    }
+
+    // Colonne (relative à bFrom) par laquelle le traceback depuis (rows, cols) entre dans la ligne mid.
+    private static int crossingColumn(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo, int mid,
+                                      Progress progress) {
+        int rows = aTo - aFrom, cols = bTo - bFrom;
+        // lignes du DpArena, libérées avant le cas de base NW qui suit
+        DpArena arena = DpArena.get();
+        int[] prev = arena.ints(0, cols + 1), cur = arena.ints(1, cols + 1);
+        int[] ePrev = arena.ints(2, cols + 1), eCur = arena.ints(3, cols + 1);
+        progress.allocated(4L * (cols + 1) * Integer.BYTES);
+
+        prev[0] = 0;
+        ePrev[0] = 0;
+        for (int j = 1; j <= cols; j++) prev[j] = prev[j - 1] + GAP;
+
+        for (int i = 1; i <= rows; i++) {
+            int ca = a[aFrom + i - 1];
+            cur[0] = prev[0] + GAP;
+            eCur[0] = (i == mid + 1) ? 0 : ePrev[0];
+
+            for (int j = 1; j <= cols; j++) {
+                int diag = prev[j - 1] + substitution(ca, b[bFrom + j - 1]);
+                int up = prev[j] + GAP;
+                int left = cur[j - 1] + GAP;
+
+                int best = diag;
+                char t = 'D';
+                if (up > best) { best = up; t = 'U'; }
+                if (left > best) { best = left; t = 'L'; }
+                cur[j] = best;
+
+                if (i == mid + 1) {
+                    eCur[j] = t == 'D' ? j - 1 : t == 'U' ? j : eCur[j - 1];
+                } else if (i > mid + 1) {
+                    eCur[j] = t == 'D' ? ePrev[j - 1] : t == 'U' ? ePrev[j] : eCur[j - 1];
+                }
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+            tmp = ePrev; ePrev = eCur; eCur = tmp;
+            progress.rows(1, cols);
+        }
+        return ePrev[cols];
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.algobio.alignment.algorithm;
+
+import java.util.List;
+
+// rows : séquences alignées (même longueur, '-' pour les gaps), dans l'ordre d'entrée
+// guideTree : arbre guide au format Newick, feuilles = indices d'entrée
+// sumOfPairs : somme des scores de toutes les paires de lignes (gap/gap = 0)
+public record MultipleAlignment(List<String> rows, String guideTree, long sumOfPairs) {}
@@ -0,0 +1,109 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+// ------------------------------------------------------
+// Distance d'édition (Levenshtein) bit-parallèle, Myers / Hyyrö
+// ------------------------------------------------------
+// `a` est découpée en blocs de 64 lignes ; chaque colonne de `b` met à jour les
+// vecteurs de différences verticales (Pv, Mv) de chaque bloc en O(1) opérations sur
+// un long, d'où O(n·m/64). Les bits de remplissage du dernier bloc ne remontent
+// jamais vers les lignes réelles (retenues et décalages vont vers le haut).
+public final class MyersEditDistance {
+
+    private static final int WORD = 64;
+
+    private MyersEditDistance() {}
+
+    // Peq de a, réutilisable pour comparer a à plusieurs séquences (lecture seule)
+    public static final class Pattern {
+        private final int length;
+        // peq[c][bloc] : bits des lignes où a[i] == c
+        private final long[][] peq;
+
+        private Pattern(PackedDna a) {
+            this.length = a.length();
+            this.peq = new long[4][(length + WORD - 1) / WORD];
+            byte[] x = a.toCodes();
+            for (int i = 0; i < length; i++) {
+                peq[x[i]][i / WORD] |= 1L << (i % WORD);
+            }
+        }
+    }
+
+    public static Pattern pattern(PackedDna a) {
+        return new Pattern(a);
+    }
+
+    public static int distance(PackedDna a, PackedDna b) {
+        return distance(pattern(a), b);
+    }
+
+    public static int distance(Pattern a, PackedDna b) {
+        return distance(a, b, Progress.NONE);
+    }
+
+    // une colonne de b = une ligne DP de largeur n (a.length)
+    public static int distance(Pattern a, PackedDna b, Progress progress) {
+        int n = a.length, m = b.length();
+        if (n == 0) return m;
+        if (m == 0) return n;
+
+        int blocks = a.peq[0].length;
+        long lastBit = 1L << ((n - 1) % WORD);
+
+        long[][] peq = a.peq;
+        byte[] y = b.toCodes();
+
+        long[] pv = new long[blocks];
+        long[] mv = new long[blocks];
+        int[] score = new int[blocks];
+        progress.allocated((long) blocks * (2 * Long.BYTES + Integer.BYTES));
+        for (int k = 0; k < blocks; k++) {
+            pv[k] = -1L;
+            score[k] = Math.min(n, (k + 1) * WORD);
+        }
+
+        for (int j = 0; j < m; j++) {
+            long[] eqs = peq[y[j]];
+
+            // ligne 0 : D[0][j] = j, donc chaque colonne ajoute +1 au sommet
+            int hin = 1;
+            for (int k = 0; k < blocks; k++) {
+                long high = (k == blocks - 1) ? lastBit : Long.MIN_VALUE;
+                long p = pv[k], mm = mv[k], eq = eqs[k];
+
+                long xv = eq | mm;
+                if (hin < 0) eq |= 1L;
+                long xh = (((eq & p) + p) ^ p) | eq;
+                long ph = mm | ~(xh | p);
+                long mh = p & xh;
+
+                int hout = 0;
+                if ((ph & high) != 0) hout = 1;
+                else if ((mh & high) != 0) hout = -1;
+
+                ph <<= 1;
+                mh <<= 1;
+                if (hin < 0) mh |= 1L;
+                else if (hin > 0) ph |= 1L;
+
+                pv[k] = mh | ~(xv | ph);
+                mv[k] = ph & xv;
+                score[k] += hout;
+                hin = hout;
+            }
+            progress.rows(1, n);
+        }
+        progress.fillDone();
+        return score[blocks - 1];
+    }
+
+    // borne supérieure de l'identité (au sens de identityPercent) de tout alignement
+    // de a et b : au moins `distance` colonnes ne sont pas des matches
+    public static double maxIdentityPercent(int n, int m, int distance) {
+        int shortest = Math.min(n, m);
+        if (shortest == 0) return 0.0;
+        return (shortest * 100.0) / (shortest + distance);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.substitution;
+
+// ------------------------
+// Needleman–Wunsch (global), matrice complète
+// ------------------------
+// Scores sur deux lignes glissantes ; seul le traceback garde la matrice complète, à
+// 2 bits par cellule (D=0, U=1, L=2) dans des long alignés par ligne : (m + 31) / 32 mots
+// par ligne, chaque mot assemblé en registre puis écrit en entier (pas de remise à zéro).
+// Les bordures (i = 0 ou j = 0) ne sont pas stockées : le traceback les déduit.
+// Tampons pris dans le DpArena du thread, alignement écrit depuis la fin des sorties.
+public final class NeedlemanWunsch {
+
+    static final int D = 0, U = 1, L = 2;
+
+    private NeedlemanWunsch() {}
+
+    public static Alignment align(PackedDna a, PackedDna b) {
+        return align(a, b, Progress.NONE);
+    }
+
+    public static Alignment align(PackedDna a, PackedDna b, Progress progress) {
+        DpArena arena = DpArena.get();
+        int n = a.length(), m = b.length();
+        byte[] x = a.toCodes(arena.bytes(0, n)), y = b.toCodes(arena.bytes(1, m));
+
+        long[] trace = arena.trace((long) n * stride(m));
+        char[] bufA = arena.outA(n + m), bufB = arena.outB(n + m);
+
+        int score = fill(arena, trace, x, 0, n, y, 0, m, progress);
+        progress.fillDone();
+        int pos = traceback(trace, bufA, bufB, x, 0, n, y, 0, m);
+        return new Alignment(new String(bufA, pos, n + m - pos), new String(bufB, pos, n + m - pos), score);
+    }
+
+    // aligne x[xFrom..xTo) avec y[yFrom..yTo) et ajoute le résultat à la fin de alA / alB
+    // (sous-problème de Hirschberg ou fenêtre SW : la fin du remplissage n'est pas marquée)
+    static int align(byte[] x, int xFrom, int xTo, byte[] y, int yFrom, int yTo,
+                     StringBuilder alA, StringBuilder alB, Progress progress) {
+        DpArena arena = DpArena.get();
+        int n = xTo - xFrom, m = yTo - yFrom;
+
+        long[] trace = arena.trace((long) n * stride(m));
+        char[] bufA = arena.outA(n + m), bufB = arena.outB(n + m);
+
+        int score = fill(arena, trace, x, xFrom, n, y, yFrom, m, progress);
+        int pos = traceback(trace, bufA, bufB, x, xFrom, n, y, yFrom, m);
+        alA.append(bufA, pos, n + m - pos);
+        alB.append(bufB, pos, n + m - pos);
+        return score;
+    }
+
+    static int stride(int m) {
+        return (m + 31) >>> 5;
+    }
+
+    private static int fill(DpArena arena, long[] trace, byte[] x, int xFrom, int n, byte[] y, int yFrom, int m,
+                            Progress progress) {
+        int stride = stride(m);
+        int[] prev = arena.ints(0, m + 1), cur = arena.ints(1, m + 1);
+        progress.allocated((long) n * stride * Long.BYTES + 2L * (m + 1) * Integer.BYTES);
+
+        prev[0] = 0;
+        for (int j = 1; j <= m; j++) prev[j] = prev[j - 1] + GAP;
+
+        for (int i = 1, row = 0; i <= n; i++, row += stride) {
+            int ca = x[xFrom + i - 1];
+            cur[0] = prev[0] + GAP;
+
+            for (int w = 0, j = 1; w < stride; w++) {
+                int end = Math.min(m, j + 31);
+                long word = 0;
+                for (int shift = 0; j <= end; j++, shift += 2) {
+                    int diag = prev[j - 1] + substitution(ca, y[yFrom + j - 1]);
+                    int up = prev[j] + GAP;
+                    int left = cur[j - 1] + GAP;
+
+                    int best = diag;
+                    long t = D;
+                    if (up > best) { best = up; t = U; }
+                    if (left > best) { best = left; t = L; }
+
+                    cur[j] = best;
+                    word |= t << shift;
+                }
+                trace[row + w] = word;
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+            progress.rows(1, m);
+        }
+        return prev[m];
+    }
+
+    // rend l'indice de début de l'alignement dans bufA / bufB (fin = n + m)
+    private static int traceback(long[] trace, char[] bufA, char[] bufB,
+                                 byte[] x, int xFrom, int n, byte[] y, int yFrom, int m) {
+        int stride = stride(m);
+        int pos = n + m;
+        int i = n, j = m;
+
+        while (i > 0 || j > 0) {
+            pos--;
+            int t = i == 0 ? L : j == 0 ? U
+                    : (int) (trace[(i - 1) * stride + ((j - 1) >>> 5)] >>> (((j - 1) & 31) << 1)) & 3;
+            if (t == D) {
+                bufA[pos] = PackedDna.base(x[xFrom + i - 1]);
+                bufB[pos] = PackedDna.base(y[yFrom + j - 1]);
+                i--; j--;
+            } else if (t == U) {
+                bufA[pos] = PackedDna.base(x[xFrom + i - 1]);
+                bufB[pos] = '-';
+                i--;
+            } else {
+                bufA[pos] = '-';
+                bufB[pos] = PackedDna.base(y[yFrom + j - 1]);
+                j--;
+            }
+        }
+        return pos;
+    }
+}
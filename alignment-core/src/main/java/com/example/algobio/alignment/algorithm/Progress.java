@@ -0,0 +1,104 @@
+package com.example.algobio.alignment.algorithm;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// ------------------------------------------------------
+// Suivi d'un calcul : avancement, annulation, budget, mesures
+// ------------------------------------------------------
+// Les noyaux appellent rows(count, width) après chaque ligne DP terminée. L'avancement est
+// compté en cellules (lignes x largeur) : les sous-problèmes de Hirschberg et les tuiles du
+// front d'onde n'ont pas la même largeur que la matrice complète. fraction() rapporte ce
+// compte au travail attendu (expect), fixé par l'appelant selon le chemin choisi.
+// Annulation et budgets (temps, cellules) sont vérifiés au même endroit : le calcul
+// s'arrête par une CancellationException à la ligne suivante, reason() dit pourquoi.
+// Mesures (métriques du service) : fin du remplissage DP (fillDone, avant le traceback) et
+// plus grosse allocation DP (allocated) ; la passe avant de Hirschberg compte comme remplissage.
+public final class Progress {
+
+    // aucun suivi : les noyaux appelés sans contexte ne paient qu'une comparaison par ligne
+    public static final Progress NONE = new Progress(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    public static final String CANCELLED_REASON = "Job annulé.";
+
+    private final LongAdder cells = new LongAdder();
+    private final LongAccumulator peakBytes = new LongAccumulator(Math::max, 0);
+    private final long maxCells;
+    private final long deadline;
+    private volatile long expectedCells;
+    private volatile long fillEndNanos;
+    private volatile String stopReason;
+    // l'état d'annulation ne se déduit pas du message : stopReason ne sert qu'à l'affichage
+    private volatile boolean cancelled;
+
+    public Progress(long maxCells, long maxNanos) {
+        this.maxCells = maxCells;
+        this.deadline = maxNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + maxNanos;
+    }
+
+    // mesures seules, sans budget
+    public static Progress unbounded() {
+        return new Progress(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public void expect(long cells) {
+        if (this == NONE) return;
+        this.expectedCells = cells;
+    }
+
+    public long maxCells() {
+        return maxCells;
+    }
+
+    void rows(int count, int width) {
+        if (this == NONE) return;
+        cells.add((long) count * width);
+        if (stopReason == null) {
+            if (maxCells != Long.MAX_VALUE && cells.sum() > maxCells) stopReason = "Budget de cellules dépassé (" + maxCells + ").";
+            else if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) stopReason = "Budget de temps dépassé.";
+        }
+        // le message peut être perdu en traversant le pool : l'appelant relit reason()
+        if (stopReason != null) throw new CancellationException(stopReason);
+    }
+
+    void fillDone() {
+        if (this == NONE) return;
+        fillEndNanos = System.nanoTime();
+    }
+
+    void allocated(long bytes) {
+        if (this == NONE) return;
+        peakBytes.accumulate(bytes);
+    }
+
+    public void cancel() {
+        if (stopReason == null) {
+            cancelled = true;
+            stopReason = CANCELLED_REASON;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public String reason() {
+        return stopReason;
+    }
+
+    public double fraction() {
+        long expected = expectedCells;
+        if (expected <= 0) return 0.0;
+        return Math.min(1.0, (double) cells.sum() / expected);
+    }
+
+    // System.nanoTime() à la fin du dernier remplissage DP, 0 si aucun
+    public long fillEndNanos() {
+        return fillEndNanos;
+    }
+
+    public long peakMatrixBytes() {
+        return peakBytes.get();
+    }
+}
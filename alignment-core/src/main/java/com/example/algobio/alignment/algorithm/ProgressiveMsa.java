@@ -0,0 +1,506 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.MATCH;
+import static com.example.algobio.alignment.algorithm.Scoring.MISMATCH;
+
+// ------------------------------------------------------
+// Alignement multiple progressif
+// ------------------------------------------------------
+// 1. Distance k-mer (k = 6) entre toutes les paires : 1 - k-mers communs / k-mers de la plus
+//    courte. Pas d'alignement, calcul par lignes en parallèle.
+// 2. Arbre guide UPGMA sur ces distances.
+// 3. Parcours de l'arbre : chaque noeud aligne les profils de ses deux fils (les sous-arbres
+//    indépendants tournent en parallèle). Score d'une paire de colonnes = somme des scores
+//    de toutes les paires de lettres (MATCH / MISMATCH, lettre/gap = GAP, gap/gap = 0).
+//    Alignement profil-profil en mémoire linéaire : Hirschberg (passes avant et arrière,
+//    coupe au maximum), traceback complet sous BASE_CASE_CELLS.
+// Un gap introduit dans un profil reste dans toutes ses lignes (« once a gap, always a gap »).
+public final class ProgressiveMsa {
+
+    private static final int K = 6;
+    private static final int KMERS = 1 << (2 * K);
+    private static final byte GAP_CODE = 4;
+    // sous-problèmes résolus avec un traceback complet (1 octet par cellule)
+    private static final long BASE_CASE_CELLS = 1L << 20;
+    // en dessous, une coupe de Hirschberg ne vaut pas une tâche du pool
+    private static final long PARALLEL_MIN_CELLS = 1L << 21;
+    // en dessous, un sous-arbre est aligné sur le thread courant
+    private static final int MIN_PARALLEL_LEAVES = 8;
+
+    // opérations du chemin : colonne des deux profils, colonne de x seule, colonne de y seule
+    private static final byte D = 0, U = 1, L = 2;
+
+    private ProgressiveMsa() {}
+
+    public static MultipleAlignment align(List<PackedDna> seqs) {
+        return align(seqs, null);
+    }
+
+    // pool non null : distances et sous-arbres indépendants en parallèle
+    public static MultipleAlignment align(List<PackedDna> seqs, ForkJoinPool pool) {
+        int n = seqs.size();
+        if (n == 0) return new MultipleAlignment(List.of(), "", 0);
+
+        double[][] dist = kmerDistances(seqs, pool);
+        Tree tree = upgma(dist);
+
+        Profile p = pool != null
+                ? pool.invoke(ForkJoinTask.adapt(() -> mergeSubtree(tree, tree.root, seqs, true)))
+                : mergeSubtree(tree, tree.root, seqs, false);
+
+        String[] rows = new String[n];
+        for (int k = 0; k < p.members.length; k++) rows[p.members[k]] = toString(p.rows[k]);
+        return new MultipleAlignment(Arrays.asList(rows), tree.newick(), sumOfPairs(p));
+    }
+
+    // ------------------------
+    // Distances k-mer
+    // ------------------------
+    static double[][] kmerDistances(List<PackedDna> seqs, ForkJoinPool pool) {
+        int n = seqs.size();
+        int[][] counts = new int[n][];
+        double[][] dist = new double[n][n];
+
+        List<Runnable> work = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int index = i;
+            work.add(() -> counts[index] = kmerCounts(seqs.get(index)));
+        }
+        run(pool, work);
+
+        // lignes k et n-1-k ensemble : même nombre de paires par tâche
+        work.clear();
+        for (int k = 0; k < (n + 1) / 2; k++) {
+            int top = k, bottom = n - 1 - k;
+            work.add(() -> {
+                distanceRow(seqs, counts, dist, top);
+                if (bottom != top) distanceRow(seqs, counts, dist, bottom);
+            });
+        }
+        run(pool, work);
+        return dist;
+    }
+
+    private static void run(ForkJoinPool pool, List<Runnable> work) {
+        if (pool == null) {
+            for (Runnable r : work) r.run();
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(work.size());
+        for (Runnable r : work) tasks.add(ForkJoinTask.adapt(r));
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    private static int[] kmerCounts(PackedDna seq) {
+        int[] counts = new int[KMERS];
+        int mask = KMERS - 1, kmer = 0;
+        for (int i = 0; i < seq.length(); i++) {
+            kmer = ((kmer << 2) | seq.codeAt(i)) & mask;
+            if (i >= K - 1) counts[kmer]++;
+        }
+        return counts;
+    }
+
+    private static void distanceRow(List<PackedDna> seqs, int[][] counts, double[][] dist, int i) {
+        int[] a = counts[i];
+        for (int j = i + 1; j < seqs.size(); j++) {
+            int[] b = counts[j];
+            long shared = 0;
+            for (int t = 0; t < KMERS; t++) shared += Math.min(a[t], b[t]);
+            int shortest = Math.min(seqs.get(i).length(), seqs.get(j).length()) - K + 1;
+            double d = shortest <= 0 ? 1.0 : 1.0 - (double) shared / shortest;
+            dist[i][j] = d;
+            dist[j][i] = d;
+        }
+    }
+
+    // ------------------------
+    // Arbre guide UPGMA
+    // ------------------------
+    // noeuds 0..n-1 = feuilles (indices d'entrée), n..2n-2 = fusions
+    static final class Tree {
+        final int leaves;
+        final int[] left, right, size;
+        final double[] height;
+        int root;
+
+        Tree(int leaves) {
+            this.leaves = leaves;
+            int nodes = 2 * leaves - 1;
+            left = new int[nodes];
+            right = new int[nodes];
+            size = new int[nodes];
+            height = new double[nodes];
+            Arrays.fill(left, -1);
+            Arrays.fill(right, -1);
+            Arrays.fill(size, 0, leaves, 1);
+        }
+
+        boolean isLeaf(int node) {
+            return node < leaves;
+        }
+
+        String newick() {
+            StringBuilder sb = new StringBuilder();
+            newick(root, height[root], sb);
+            return sb.append(';').toString();
+        }
+
+        private void newick(int node, double parentHeight, StringBuilder sb) {
+            if (isLeaf(node)) {
+                sb.append(node);
+            } else {
+                sb.append('(');
+                newick(left[node], height[node], sb);
+                sb.append(',');
+                newick(right[node], height[node], sb);
+                sb.append(')');
+            }
+            if (node != root) sb.append(':').append(String.format(Locale.ROOT, "%.5f", parentHeight - height[node]));
+        }
+    }
+
+    static Tree upgma(double[][] dist) {
+        int n = dist.length;
+        Tree tree = new Tree(n);
+        tree.root = 0;
+        if (n == 1) return tree;
+
+        double[][] d = new double[n][];
+        for (int i = 0; i < n; i++) d[i] = dist[i].clone();
+        // cluster[i] : noeud de l'arbre occupant la ligne i (-1 = ligne fusionnée)
+        int[] cluster = new int[n];
+        for (int i = 0; i < n; i++) cluster[i] = i;
+
+        for (int node = n; node < 2 * n - 1; node++) {
+            int bi = -1, bj = -1;
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (cluster[i] < 0) continue;
+                for (int j = i + 1; j < n; j++) {
+                    if (cluster[j] >= 0 && d[i][j] < best) {
+                        best = d[i][j];
+                        bi = i; bj = j;
+                    }
+                }
+            }
+
+            int ci = cluster[bi], cj = cluster[bj];
+            tree.left[node] = ci;
+            tree.right[node] = cj;
+            tree.size[node] = tree.size[ci] + tree.size[cj];
+            tree.height[node] = best / 2;
+
+            // moyenne pondérée par la taille des clusters, la ligne bi devient le nouveau cluster
+            for (int k = 0; k < n; k++) {
+                if (cluster[k] < 0 || k == bi || k == bj) continue;
+                double v = (d[bi][k] * tree.size[ci] + d[bj][k] * tree.size[cj]) / tree.size[node];
+                d[bi][k] = v;
+                d[k][bi] = v;
+            }
+            cluster[bi] = node;
+            cluster[bj] = -1;
+            tree.root = node;
+        }
+        return tree;
+    }
+
+    // ------------------------
+    // Profils
+    // ------------------------
+    // rows[k] : ligne alignée de la séquence members[k], codes 0..3 ou GAP_CODE
+    // counts[4 * c + b] : nombre de lettres b dans la colonne c (tenu à jour à chaque fusion)
+    static final class Profile {
+        final int[] members;
+        final byte[][] rows;
+        final int width;
+        final int[] counts;
+
+        Profile(int[] members, byte[][] rows, int width, int[] counts) {
+            this.members = members;
+            this.rows = rows;
+            this.width = width;
+            this.counts = counts;
+        }
+
+        static Profile leaf(int member, byte[] row) {
+            int[] counts = new int[4 * row.length];
+            for (int c = 0; c < row.length; c++) counts[4 * c + row[c]]++;
+            return new Profile(new int[]{member}, new byte[][]{row}, row.length, counts);
+        }
+    }
+
+    // profil du sous-arbre node ; parallel : le sous-arbre gauche est forké (appel depuis le pool)
+    private static Profile mergeSubtree(Tree tree, int node, List<PackedDna> seqs, boolean parallel) {
+        if (tree.isLeaf(node)) {
+            PackedDna seq = seqs.get(node);
+            return Profile.leaf(node, seq.toCodes(new byte[seq.length()]));
+        }
+
+        int left = tree.left[node], right = tree.right[node];
+        Profile x, y;
+        if (parallel && tree.size[node] >= MIN_PARALLEL_LEAVES) {
+            ForkJoinTask<Profile> l = ForkJoinTask.adapt(() -> mergeSubtree(tree, left, seqs, true)).fork();
+            y = mergeSubtree(tree, right, seqs, true);
+            x = l.join();
+        } else {
+            x = mergeSubtree(tree, left, seqs, parallel);
+            y = mergeSubtree(tree, right, seqs, parallel);
+        }
+        return merge(x, y, parallel);
+    }
+
+    static Profile merge(Profile x, Profile y, boolean parallel) {
+        byte[] ops = new ProfileAligner(x, y, parallel).align();
+        int len = ops.length;
+        int nx = x.rows.length, ny = y.rows.length;
+
+        int[] members = new int[nx + ny];
+        byte[][] rows = new byte[nx + ny][];
+        for (int k = 0; k < nx; k++) {
+            members[k] = x.members[k];
+            rows[k] = expand(x.rows[k], ops, len, L);
+        }
+        for (int k = 0; k < ny; k++) {
+            members[nx + k] = y.members[k];
+            rows[nx + k] = expand(y.rows[k], ops, len, U);
+        }
+
+        int[] counts = new int[4 * len];
+        for (int c = 0, i = 0, j = 0; c < len; c++) {
+            if (ops[c] != L) {
+                for (int b = 0; b < 4; b++) counts[4 * c + b] += x.counts[4 * i + b];
+                i++;
+            }
+            if (ops[c] != U) {
+                for (int b = 0; b < 4; b++) counts[4 * c + b] += y.counts[4 * j + b];
+                j++;
+            }
+        }
+        return new Profile(members, rows, len, counts);
+    }
+
+    // copie la ligne en insérant un gap à chaque opération qui ne consomme pas ce profil
+    private static byte[] expand(byte[] row, byte[] ops, int len, byte gapOp) {
+        byte[] out = new byte[len];
+        for (int c = 0, src = 0; c < len; c++) {
+            out[c] = ops[c] == gapOp ? GAP_CODE : row[src++];
+        }
+        return out;
+    }
+
+    // ------------------------
+    // Alignement profil-profil en mémoire linéaire
+    // ------------------------
+    // Score de la colonne x[i] face à y[j], avec rx lettres dans x[i] (sur nx lignes) :
+    //   sum_b cy[b] * wx[b] + (ny - ry) * GAP * rx,  wx[b] = MISMATCH*rx + (MATCH-MISMATCH)*cx[b] + GAP*(nx-rx)
+    // colonne x[i] face à une colonne de gaps (U) : GAP * rx * ny ; y[j] seule (L) : GAP * ry * nx
+    // En parallèle, les passes avant / arrière d'une coupe puis les deux moitiés tournent
+    // sur le pool : l'arbre guide est souvent en peigne, le gain vient de là plutôt que des
+    // sous-arbres.
+    static final class ProfileAligner {
+        private final long[] wx;      // 4 par colonne de x
+        private final long[] gx;      // GAP * rx
+        private final long[] up;      // coût U de la colonne x[i]
+        private final int[] cy;       // 4 par colonne de y
+        private final int[] gy;       // ny - ry
+        private final long[] left;    // coût L de la colonne y[j]
+        private final int wxLen, wyLen;
+        private final boolean parallel;
+
+        ProfileAligner(Profile x, Profile y, boolean parallel) {
+            int nx = x.rows.length, ny = y.rows.length;
+            wxLen = x.width;
+            wyLen = y.width;
+            this.parallel = parallel;
+
+            int[] cx = x.counts;
+            wx = new long[4 * wxLen];
+            gx = new long[wxLen];
+            up = new long[wxLen];
+            for (int i = 0; i < wxLen; i++) {
+                int rx = cx[4 * i] + cx[4 * i + 1] + cx[4 * i + 2] + cx[4 * i + 3];
+                for (int b = 0; b < 4; b++) {
+                    wx[4 * i + b] = (long) MISMATCH * rx + (long) (MATCH - MISMATCH) * cx[4 * i + b]
+                            + (long) GAP * (nx - rx);
+                }
+                gx[i] = (long) GAP * rx;
+                up[i] = (long) GAP * rx * ny;
+            }
+
+            cy = y.counts;
+            gy = new int[wyLen];
+            left = new long[wyLen];
+            for (int j = 0; j < wyLen; j++) {
+                int ry = cy[4 * j] + cy[4 * j + 1] + cy[4 * j + 2] + cy[4 * j + 3];
+                gy[j] = ny - ry;
+                left[j] = (long) GAP * ry * nx;
+            }
+        }
+
+        byte[] align() {
+            return solve(0, wxLen, 0, wyLen);
+        }
+
+        private byte[] solve(int xFrom, int xTo, int yFrom, int yTo) {
+            int rows = xTo - xFrom, cols = yTo - yFrom;
+            if (rows == 0 || cols == 0) {
+                byte[] ops = new byte[rows + cols];
+                Arrays.fill(ops, rows == 0 ? L : U);
+                return ops;
+            }
+            if (rows == 1 || (long) rows * cols <= BASE_CASE_CELLS) {
+                return full(xFrom, xTo, yFrom, yTo);
+            }
+
+            int mid = xFrom + rows / 2;
+            boolean fork = parallel && (long) rows * cols >= PARALLEL_MIN_CELLS;
+            long[] fwd, bwd;
+            if (fork) {
+                ForkJoinTask<long[]> b = ForkJoinTask.adapt(() -> backward(mid, xTo, yFrom, yTo)).fork();
+                fwd = forward(xFrom, mid, yFrom, yTo);
+                bwd = b.join();
+            } else {
+                fwd = forward(xFrom, mid, yFrom, yTo);
+                bwd = backward(mid, xTo, yFrom, yTo);
+            }
+
+            int split = 0;
+            long best = Long.MIN_VALUE;
+            for (int j = 0; j <= cols; j++) {
+                long v = fwd[j] + bwd[cols - j];
+                if (v > best) { best = v; split = j; }
+            }
+            int ySplit = yFrom + split;
+
+            byte[] first, second;
+            if (fork) {
+                ForkJoinTask<byte[]> r = ForkJoinTask.adapt(() -> solve(mid, xTo, ySplit, yTo)).fork();
+                first = solve(xFrom, mid, yFrom, ySplit);
+                second = r.join();
+            } else {
+                first = solve(xFrom, mid, yFrom, ySplit);
+                second = solve(mid, xTo, ySplit, yTo);
+            }
+            byte[] ops = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, ops, first.length, second.length);
+            return ops;
+        }
+
+        // dernière ligne DP de x[xFrom..xTo) contre les préfixes de y[yFrom..yTo)
+        private long[] forward(int xFrom, int xTo, int yFrom, int yTo) {
+            int cols = yTo - yFrom;
+            long[] prev = new long[cols + 1], cur = new long[cols + 1];
+            for (int j = 1; j <= cols; j++) prev[j] = prev[j - 1] + left[yFrom + j - 1];
+
+            for (int i = xFrom; i < xTo; i++) {
+                long w0 = wx[4 * i], w1 = wx[4 * i + 1], w2 = wx[4 * i + 2], w3 = wx[4 * i + 3];
+                long g = gx[i], u = up[i];
+                cur[0] = prev[0] + u;
+                for (int j = 1, y = yFrom; j <= cols; j++, y++) {
+                    int c = 4 * y;
+                    long best = prev[j - 1] + cy[c] * w0 + cy[c + 1] * w1 + cy[c + 2] * w2 + cy[c + 3] * w3 + gy[y] * g;
+                    best = Math.max(best, prev[j] + u);
+                    cur[j] = Math.max(best, cur[j - 1] + left[y]);
+                }
+                long[] tmp = prev; prev = cur; cur = tmp;
+            }
+            return prev;
+        }
+
+        // même chose de la fin vers le début : out[k] = score de x[xFrom..xTo) contre les k dernières colonnes
+        private long[] backward(int xFrom, int xTo, int yFrom, int yTo) {
+            int cols = yTo - yFrom;
+            long[] prev = new long[cols + 1], cur = new long[cols + 1];
+            for (int k = 1; k <= cols; k++) prev[k] = prev[k - 1] + left[yTo - k];
+
+            for (int i = xTo - 1; i >= xFrom; i--) {
+                long w0 = wx[4 * i], w1 = wx[4 * i + 1], w2 = wx[4 * i + 2], w3 = wx[4 * i + 3];
+                long g = gx[i], u = up[i];
+                cur[0] = prev[0] + u;
+                for (int k = 1, y = yTo - 1; k <= cols; k++, y--) {
+                    int c = 4 * y;
+                    long best = prev[k - 1] + cy[c] * w0 + cy[c + 1] * w1 + cy[c + 2] * w2 + cy[c + 3] * w3 + gy[y] * g;
+                    best = Math.max(best, prev[k] + u);
+                    cur[k] = Math.max(best, cur[k - 1] + left[y]);
+                }
+                long[] tmp = prev; prev = cur; cur = tmp;
+            }
+            return prev;
+        }
+
+        // petit sous-problème : lignes glissantes + traceback d'un octet par cellule, priorités D > U > L
+        private byte[] full(int xFrom, int xTo, int yFrom, int yTo) {
+            int rows = xTo - xFrom, cols = yTo - yFrom;
+            long[] prev = new long[cols + 1], cur = new long[cols + 1];
+            byte[] trace = new byte[rows * cols];
+
+            for (int j = 1; j <= cols; j++) prev[j] = prev[j - 1] + left[yFrom + j - 1];
+            for (int i = xFrom, t = 0; i < xTo; i++) {
+                long w0 = wx[4 * i], w1 = wx[4 * i + 1], w2 = wx[4 * i + 2], w3 = wx[4 * i + 3];
+                long g = gx[i], u = up[i];
+                cur[0] = prev[0] + u;
+                for (int j = 1, y = yFrom; j <= cols; j++, y++, t++) {
+                    int c = 4 * y;
+                    long best = prev[j - 1] + cy[c] * w0 + cy[c + 1] * w1 + cy[c + 2] * w2 + cy[c + 3] * w3 + gy[y] * g;
+                    byte op = D;
+                    long v = prev[j] + u;
+                    if (v > best) { best = v; op = U; }
+                    v = cur[j - 1] + left[y];
+                    if (v > best) { best = v; op = L; }
+                    cur[j] = best;
+                    trace[t] = op;
+                }
+                long[] tmp = prev; prev = cur; cur = tmp;
+            }
+
+            byte[] ops = new byte[rows + cols];
+            int pos = ops.length;
+            int i = rows, j = cols;
+            while (i > 0 || j > 0) {
+                byte op = i == 0 ? L : j == 0 ? U : trace[(i - 1) * cols + j - 1];
+                ops[--pos] = op;
+                if (op == D) { i--; j--; }
+                else if (op == U) i--;
+                else j--;
+            }
+            return Arrays.copyOfRange(ops, pos, ops.length);
+        }
+    }
+
+    // ------------------------
+    // Score somme des paires, colonne par colonne
+    // ------------------------
+    static long sumOfPairs(Profile p) {
+        int[] counts = p.counts;
+        int n = p.rows.length;
+        long total = 0;
+        for (int c = 0; c < p.width; c++) {
+            long r = 0, same = 0;
+            for (int b = 0; b < 4; b++) {
+                long k = counts[4 * c + b];
+                r += k;
+                same += k * (k - 1) / 2;
+            }
+            long residuePairs = r * (r - 1) / 2;
+            total += MATCH * same + MISMATCH * (residuePairs - same) + GAP * r * (n - r);
+        }
+        return total;
+    }
+
+    private static String toString(byte[] row) {
+        char[] out = new char[row.length];
+        for (int c = 0; c < row.length; c++) out[c] = row[c] == GAP_CODE ? '-' : PackedDna.base(row[c]);
+        return new String(out);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import java.util.Arrays;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.substitution;
+
+// ------------------------------------------------------
+// Score seul : deux lignes glissantes, pas de traceback
+// ------------------------------------------------------
+// Chaque cellule transporte (matches, longueur) du chemin que le traceback suivrait
+// depuis elle (mêmes règles de priorité), donc l'identité renvoyée est exactement
+// celle de l'alignement complet, sans construire ni la matrice trace ni les chaînes.
+public final class ScoreOnly {
+
+    public record Result(int score, int matches, int length) {
+        public double identityPercent() {
+            return length == 0 ? 0.0 : (matches * 100.0) / length;
+        }
+    }
+
+    private ScoreOnly() {}
+
+    public static Result needlemanWunsch(PackedDna a, PackedDna b) {
+        DpArena arena = DpArena.get();
+        int n = a.length(), m = b.length();
+        byte[] x = a.toCodes(arena.bytes(0, n)), y = b.toCodes(arena.bytes(1, m));
+        int[] prev = arena.ints(0, m + 1), cur = arena.ints(1, m + 1);
+        int[] mPrev = arena.ints(2, m + 1), mCur = arena.ints(3, m + 1);
+        int[] lPrev = arena.ints(4, m + 1), lCur = arena.ints(5, m + 1);
+
+        prev[0] = 0; mPrev[0] = 0; lPrev[0] = 0;
+        for (int j = 1; j <= m; j++) {
+            prev[j] = prev[j - 1] + GAP;
+            mPrev[j] = 0;
+            lPrev[j] = j;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int ca = x[i - 1];
+            cur[0] = prev[0] + GAP;
+            mCur[0] = 0;
+            lCur[0] = i;
+
+            for (int j = 1; j <= m; j++) {
+                int cb = y[j - 1];
+                boolean same = ca == cb;
+                int diag = prev[j - 1] + substitution(ca, cb);
+                int up = prev[j] + GAP;
+                int left = cur[j - 1] + GAP;
+
+                if (diag >= up && diag >= left) {
+                    cur[j] = diag;
+                    mCur[j] = mPrev[j - 1] + (same ? 1 : 0);
+                    lCur[j] = lPrev[j - 1] + 1;
+                } else if (up >= left) {
+                    cur[j] = up;
+                    mCur[j] = mPrev[j];
+                    lCur[j] = lPrev[j] + 1;
+                } else {
+                    cur[j] = left;
+                    mCur[j] = mCur[j - 1];
+                    lCur[j] = lCur[j - 1] + 1;
+                }
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+            tmp = mPrev; mPrev = mCur; mCur = tmp;
+            tmp = lPrev; lPrev = lCur; lCur = tmp;
+        }
+        return new Result(prev[m], mPrev[m], lPrev[m]);
+    }
+
+    public static Result smithWaterman(PackedDna a, PackedDna b) {
+        DpArena arena = DpArena.get();
+        int n = a.length(), m = b.length();
+        byte[] x = a.toCodes(arena.bytes(0, n)), y = b.toCodes(arena.bytes(1, m));
+        int[] prev = arena.ints(0, m + 1), cur = arena.ints(1, m + 1);
+        int[] mPrev = arena.ints(2, m + 1), mCur = arena.ints(3, m + 1);
+        int[] lPrev = arena.ints(4, m + 1), lCur = arena.ints(5, m + 1);
+        Arrays.fill(prev, 0, m + 1, 0);
+        Arrays.fill(mPrev, 0, m + 1, 0);
+        Arrays.fill(lPrev, 0, m + 1, 0);
+        cur[0] = 0; mCur[0] = 0; lCur[0] = 0;
+
+        int bestScore = 0, bestMatches = 0, bestLength = 0;
+
+        for (int i = 1; i <= n; i++) {
+            int ca = x[i - 1];
+
+            for (int j = 1; j <= m; j++) {
+                int cb = y[j - 1];
+                boolean same = ca == cb;
+                int diag = prev[j - 1] + substitution(ca, cb);
+                int up = prev[j] + GAP;
+                int left = cur[j - 1] + GAP;
+
+                int best = 0, bm = 0, bl = 0;
+                if (diag > best) { best = diag; bm = mPrev[j - 1] + (same ? 1 : 0); bl = lPrev[j - 1] + 1; }
+                if (up > best) { best = up; bm = mPrev[j]; bl = lPrev[j] + 1; }
+                if (left > best) { best = left; bm = mCur[j - 1]; bl = lCur[j - 1] + 1; }
+
+                cur[j] = best;
+                mCur[j] = bm;
+                lCur[j] = bl;
+
+                if (best > bestScore) {
+                    bestScore = best;
+                    bestMatches = bm;
+                    bestLength = bl;
+                }
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+            tmp = mPrev; mPrev = mCur; mCur = tmp;
+            tmp = lPrev; lPrev = lCur; lCur = tmp;
+        }
+        return new Result(bestScore, bestMatches, bestLength);
+    }
+}
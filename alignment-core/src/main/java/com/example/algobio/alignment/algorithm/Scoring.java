@@ -0,0 +1,14 @@
+package com.example.algobio.alignment.algorithm;
+
+public final class Scoring {
+
+    public static final int MATCH = 1;
+    public static final int MISMATCH = -1;
+    public static final int GAP = -2;
+
+    private Scoring() {}
+
+    public static int substitution(int x, int y) {
+        return x == y ? MATCH : MISMATCH;
+    }
+}
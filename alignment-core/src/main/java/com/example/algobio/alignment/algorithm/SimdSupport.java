@@ -0,0 +1,15 @@
+package com.example.algobio.alignment.algorithm;
+
+// Les noyaux SIMD ne sont utilisables que si la JVM a été lancée avec
+// --add-modules jdk.incubator.vector ; sinon on garde les versions scalaires.
+public final class SimdSupport {
+
+    private static final boolean AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private SimdSupport() {}
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.substitution;
+
+// ----------------------------------------
+// Smith–Waterman (local) = BLAST simplifié
+// ----------------------------------------
+// Même disposition que NeedlemanWunsch : deux lignes de scores glissantes et traceback à
+// 2 bits par cellule (D, U, L, Z=3). Le traceback s'arrête sur Z, c'est-à-dire dp = 0.
+public final class SmithWaterman {
+
+    private static final int D = NeedlemanWunsch.D, U = NeedlemanWunsch.U, L = NeedlemanWunsch.L, Z = 3;
+
+    private SmithWaterman() {}
+
+    public static Alignment align(PackedDna a, PackedDna b) {
+        return align(a, b, Progress.NONE);
+    }
+
+    public static Alignment align(PackedDna a, PackedDna b, Progress progress) {
+        DpArena arena = DpArena.get();
+        int n = a.length(), m = b.length();
+        byte[] x = a.toCodes(arena.bytes(0, n)), y = b.toCodes(arena.bytes(1, m));
+
+        int stride = NeedlemanWunsch.stride(m);
+        int[] prev = arena.ints(0, m + 1), cur = arena.ints(1, m + 1);
+        long[] trace = arena.trace((long) n * stride);
+        char[] bufA = arena.outA(n + m), bufB = arena.outB(n + m);
+        progress.allocated((long) n * stride * Long.BYTES + 2L * (m + 1) * Integer.BYTES);
+
+        int bestScore = 0;
+        int bestI = 0, bestJ = 0;
+
+        for (int j = 0; j <= m; j++) prev[j] = 0;
+        cur[0] = 0;
+
+        for (int i = 1, row = 0; i <= n; i++, row += stride) {
+            int ca = x[i - 1];
+
+            for (int w = 0, j = 1; w < stride; w++) {
+                int end = Math.min(m, j + 31);
+                long word = 0;
+                for (int shift = 0; j <= end; j++, shift += 2) {
+                    int diag = prev[j - 1] + substitution(ca, y[j - 1]);
+                    int up = prev[j] + GAP;
+                    int left = cur[j - 1] + GAP;
+
+                    int best = 0;
+                    long t = Z;
+                    if (diag > best) { best = diag; t = D; }
+                    if (up > best) { best = up; t = U; }
+                    if (left > best) { best = left; t = L; }
+
+                    cur[j] = best;
+                    word |= t << shift;
+
+                    if (best > bestScore) {
+                        bestScore = best;
+                        bestI = i; bestJ = j;
+                    }
+                }
+                trace[row + w] = word;
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+            progress.rows(1, m);
+        }
+
+        progress.fillDone();
+
+        // traceback écrit depuis la fin des tampons
+        int pos = n + m;
+        int i = bestI, j = bestJ;
+
+        while (i > 0 && j > 0) {
+            int t = (int) (trace[(i - 1) * stride + ((j - 1) >>> 5)] >>> (((j - 1) & 31) << 1)) & 3;
+            if (t == Z) break;
+            pos--;
+            if (t == D) {
+                bufA[pos] = PackedDna.base(x[i - 1]);
+                bufB[pos] = PackedDna.base(y[j - 1]);
+                i--; j--;
+            } else if (t == U) {
+                bufA[pos] = PackedDna.base(x[i - 1]);
+                bufB[pos] = '-';
+                i--;
+            } else {
+                bufA[pos] = '-';
+                bufB[pos] = PackedDna.base(y[j - 1]);
+                j--;
+            }
+        }
+
+        return new Alignment(new String(bufA, pos, n + m - pos), new String(bufB, pos, n + m - pos),
+                bestScore, i, j);
+    }
+}
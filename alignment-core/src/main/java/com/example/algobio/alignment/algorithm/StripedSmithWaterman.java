@@ -0,0 +1,300 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.MATCH;
+import static com.example.algobio.alignment.algorithm.Scoring.MISMATCH;
+import static com.example.algobio.alignment.algorithm.Scoring.substitution;
+
+// ------------------------------------------------------
+// Smith–Waterman strié (Farrar) avec l'API Vector
+// ------------------------------------------------------
+// b est découpée en bandes (colonne jj -> segment jj % segLen, lane jj / segLen) et le
+// profil de b est calculé une seule fois pour chacune des 4 bases. Chaque lane transporte,
+// en plus du score H, les statistiques du chemin que suivrait le traceback scalaire
+// (matches, longueur, coin de départ), avec les mêmes priorités D > U > L > Z.
+// Toutes ces valeurs sont bornées par n + m : tant que n + m tient dans un short on
+// utilise des lanes 16 bits, sinon on retombe sur les noyaux scalaires (int).
+// Ne charger cette classe que si SimdSupport.isAvailable().
+public final class StripedSmithWaterman {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    public record Result(int score, int matches, int length, int startI, int startJ, int endI, int endJ) {
+        public double identityPercent() {
+            return length == 0 ? 0.0 : (matches * 100.0) / length;
+        }
+    }
+
+    private StripedSmithWaterman() {}
+
+    // Précalculs ne dépendant que de b (profil par base, colonnes des lanes) : réutilisables
+    // pour aligner plusieurs séquences a contre le même b, y compris depuis plusieurs threads.
+    public static final class Profile {
+        private final PackedDna seq;
+        private final byte[] codes;
+        private final int segLen;
+        private final short[][] scores;
+        private final short[] col;
+
+        private Profile(PackedDna seq) {
+            this.seq = seq;
+            this.codes = seq.toCodes();
+            this.segLen = (codes.length + LANES - 1) / LANES;
+            this.scores = profiles(codes, segLen);
+            this.col = new short[segLen * LANES];
+            for (int s = 0; s < segLen; s++) {
+                for (int l = 0; l < LANES; l++) {
+                    col[s * LANES + l] = (short) (l * segLen + s + 1);
+                }
+            }
+        }
+
+        public PackedDna sequence() {
+            return seq;
+        }
+    }
+
+    public static Profile profile(PackedDna b) {
+        return new Profile(b);
+    }
+
+    public static boolean supports(PackedDna a, PackedDna b) {
+        int segLen = (b.length() + LANES - 1) / LANES;
+        return (long) a.length() + (long) segLen * LANES < Short.MAX_VALUE;
+    }
+
+    public static boolean supports(PackedDna a, Profile b) {
+        return (long) a.length() + (long) b.segLen * LANES < Short.MAX_VALUE;
+    }
+
+    public static Alignment align(PackedDna a, PackedDna b) {
+        if (!supports(a, b)) return SmithWaterman.align(a, b);
+        return align(a, profile(b));
+    }
+
+    public static Alignment align(PackedDna a, Profile b) {
+        return align(a, b, Progress.NONE);
+    }
+
+    public static Alignment align(PackedDna a, Profile b, Progress progress) {
+        if (!supports(a, b)) return SmithWaterman.align(a, b.seq, progress);
+
+        byte[] x = a.toCodes(DpArena.get().bytes(0, a.length())), y = b.codes;
+        Result r = score(x, a.length(), b, progress);
+        progress.fillDone();
+        if (r.score() == 0) return new Alignment("", "", 0);
+
+        // Le chemin optimal commence par un D depuis le coin (startI, startJ) : l'alignement
+        // global de la fenêtre redonne exactement le traceback de la matrice complète.
+        StringBuilder alA = new StringBuilder();
+        StringBuilder alB = new StringBuilder();
+        NeedlemanWunsch.align(x, r.startI(), r.endI(), y, r.startJ(), r.endJ(), alA, alB, progress);
+        return new Alignment(alA.toString(), alB.toString(), r.score(), r.startI(), r.startJ());
+    }
+
+    public static ScoreOnly.Result scoreOnly(PackedDna a, PackedDna b) {
+        if (!supports(a, b)) return ScoreOnly.smithWaterman(a, b);
+        return scoreOnly(a, profile(b));
+    }
+
+    public static ScoreOnly.Result scoreOnly(PackedDna a, Profile b) {
+        if (!supports(a, b)) return ScoreOnly.smithWaterman(a, b.seq);
+        Result r = score(a.toCodes(DpArena.get().bytes(0, a.length())), a.length(), b, Progress.NONE);
+        return new ScoreOnly.Result(r.score(), r.matches(), r.length());
+    }
+
+    // a[0..n) : le tampon de codes vient du DpArena et peut être plus long que la séquence
+    static Result score(byte[] a, int n, Profile b, Progress progress) {
+        int m = b.codes.length;
+        if (n == 0 || m == 0) return new Result(0, 0, 0, 0, 0, 0, 0);
+
+        int segLen = b.segLen;
+        int size = segLen * LANES;
+
+        short[][] profiles = b.scores;
+        short[] col = b.col;
+
+        // lignes du DpArena : les *C sont entièrement réécrites à chaque ligne, seules les *P
+        // de départ sont initialisées
+        DpArena arena = DpArena.get();
+        short[] hP = arena.shorts(0, size), hC = arena.shorts(1, size);
+        short[] mP = arena.shorts(2, size), mC = arena.shorts(3, size);
+        short[] lP = arena.shorts(4, size), lC = arena.shorts(5, size);
+        short[] iP = arena.shorts(6, size), iC = arena.shorts(7, size);
+        short[] jP = arena.shorts(8, size), jC = arena.shorts(9, size);
+        Arrays.fill(hP, 0, size, (short) 0);
+        Arrays.fill(mP, 0, size, (short) 0);
+        Arrays.fill(lP, 0, size, (short) 0);
+        Arrays.fill(iP, 0, size, (short) 0);
+        System.arraycopy(col, 0, jP, 0, size);
+        progress.allocated(10L * size * Short.BYTES);
+
+        ShortVector zero = ShortVector.zero(SPECIES);
+        ShortVector one = ShortVector.broadcast(SPECIES, (short) 1);
+        ShortVector gap = ShortVector.broadcast(SPECIES, (short) GAP);
+        ShortVector gapLane0 = zero.withLane(0, (short) GAP);
+
+        int bestScore = 0, bestMatches = 0, bestLength = 0;
+        int bestStartI = 0, bestStartJ = 0, bestI = 0, bestJ = 0;
+
+        int last = (segLen - 1) * LANES;
+
+        for (int i = 1; i <= n; i++) {
+            short[] prof = profiles[a[i - 1]];
+            ShortVector vi = ShortVector.broadcast(SPECIES, (short) i);
+
+            // prédécesseurs diagonaux du segment 0 : dernier segment décalé d'une lane,
+            // la lane 0 reçoit la bordure (i - 1, 0)
+            ShortVector dH = ShortVector.fromArray(SPECIES, hP, last).unslice(1);
+            ShortVector dM = ShortVector.fromArray(SPECIES, mP, last).unslice(1);
+            ShortVector dL = ShortVector.fromArray(SPECIES, lP, last).unslice(1);
+            ShortVector dI = ShortVector.fromArray(SPECIES, iP, last).unslice(1).withLane(0, (short) (i - 1));
+            ShortVector dJ = ShortVector.fromArray(SPECIES, jP, last).unslice(1);
+
+            // gauche du segment 0 inconnue pour l'instant : corrigée par la boucle lazy-F
+            ShortVector fH = gap, fM = zero, fL = zero, fI = zero, fJ = zero;
+
+            for (int s = 0; s < segLen; s++) {
+                int off = s * LANES;
+                ShortVector p = ShortVector.fromArray(SPECIES, prof, off);
+                VectorMask<Short> eq = p.compare(VectorOperators.EQ, (short) MATCH);
+
+                ShortVector uH = ShortVector.fromArray(SPECIES, hP, off);
+                ShortVector uM = ShortVector.fromArray(SPECIES, mP, off);
+                ShortVector uL = ShortVector.fromArray(SPECIES, lP, off);
+                ShortVector uI = ShortVector.fromArray(SPECIES, iP, off);
+                ShortVector uJ = ShortVector.fromArray(SPECIES, jP, off);
+
+                // D
+                ShortVector h = dH.add(p);
+                ShortVector mm = dM.add(one, eq);
+                ShortVector ll = dL.add(one);
+                ShortVector ii = dI;
+                ShortVector jj = dJ;
+
+                // U
+                ShortVector up = uH.add(gap);
+                VectorMask<Short> isUp = up.compare(VectorOperators.GT, h);
+                h = h.blend(up, isUp);
+                mm = mm.blend(uM, isUp);
+                ll = ll.blend(uL.add(one), isUp);
+                ii = ii.blend(uI, isUp);
+                jj = jj.blend(uJ, isUp);
+
+                // L
+                VectorMask<Short> isLeft = fH.compare(VectorOperators.GT, h);
+                h = h.blend(fH, isLeft);
+                mm = mm.blend(fM, isLeft);
+                ll = ll.blend(fL.add(one), isLeft);
+                ii = ii.blend(fI, isLeft);
+                jj = jj.blend(fJ, isLeft);
+
+                // Z : la cellule devient le coin d'un nouveau chemin
+                VectorMask<Short> isZero = h.compare(VectorOperators.LE, (short) 0);
+                h = h.blend(zero, isZero);
+                mm = mm.blend(zero, isZero);
+                ll = ll.blend(zero, isZero);
+                ii = ii.blend(vi, isZero);
+                jj = jj.blend(ShortVector.fromArray(SPECIES, col, off), isZero);
+
+                h.intoArray(hC, off);
+                mm.intoArray(mC, off);
+                ll.intoArray(lC, off);
+                ii.intoArray(iC, off);
+                jj.intoArray(jC, off);
+
+                fH = h.add(gap); fM = mm; fL = ll; fI = ii; fJ = jj;
+                dH = uH; dM = uM; dL = uL; dI = uI; dJ = uJ;
+            }
+
+            // lazy-F : propage les gaps horizontaux d'une lane à la suivante
+            fH = fH.unslice(1).add(gapLane0);
+            fM = fM.unslice(1); fL = fL.unslice(1); fI = fI.unslice(1); fJ = fJ.unslice(1);
+            int s = 0;
+            while (true) {
+                int off = s * LANES;
+                ShortVector h = ShortVector.fromArray(SPECIES, hC, off);
+                VectorMask<Short> isLeft = fH.compare(VectorOperators.GT, h);
+                if (!isLeft.anyTrue()) break;
+
+                h = h.blend(fH, isLeft);
+                ShortVector mm = ShortVector.fromArray(SPECIES, mC, off).blend(fM, isLeft);
+                ShortVector ll = ShortVector.fromArray(SPECIES, lC, off).blend(fL.add(one), isLeft);
+                ShortVector ii = ShortVector.fromArray(SPECIES, iC, off).blend(fI, isLeft);
+                ShortVector jj = ShortVector.fromArray(SPECIES, jC, off).blend(fJ, isLeft);
+                h.intoArray(hC, off);
+                mm.intoArray(mC, off);
+                ll.intoArray(lC, off);
+                ii.intoArray(iC, off);
+                jj.intoArray(jC, off);
+
+                fH = h.add(gap); fM = mm; fL = ll; fI = ii; fJ = jj;
+                if (++s == segLen) {
+                    s = 0;
+                    fH = fH.unslice(1).add(gapLane0);
+                    fM = fM.unslice(1); fL = fL.unslice(1); fI = fI.unslice(1); fJ = fJ.unslice(1);
+                }
+            }
+
+            ShortVector rowMax = zero;
+            for (int t = 0; t < segLen; t++) {
+                rowMax = rowMax.max(ShortVector.fromArray(SPECIES, hC, t * LANES));
+            }
+            int rm = rowMax.reduceLanes(VectorOperators.MAX);
+
+            if (rm > bestScore) {
+                // même cellule que le parcours scalaire : premier j de la ligne qui atteint rm
+                int firstCol = Integer.MAX_VALUE, firstIdx = -1;
+                for (int t = 0; t < segLen; t++) {
+                    VectorMask<Short> hit = ShortVector.fromArray(SPECIES, hC, t * LANES)
+                            .compare(VectorOperators.EQ, (short) rm);
+                    int lane = hit.firstTrue();
+                    if (lane < LANES && lane * segLen + t < firstCol) {
+                        firstCol = lane * segLen + t;
+                        firstIdx = t * LANES + lane;
+                    }
+                }
+                bestScore = rm;
+                bestMatches = mC[firstIdx];
+                bestLength = lC[firstIdx];
+                bestStartI = iC[firstIdx];
+                bestStartJ = jC[firstIdx];
+                bestI = i;
+                bestJ = firstCol + 1;
+            }
+
+            short[] tmp;
+            tmp = hP; hP = hC; hC = tmp;
+            tmp = mP; mP = mC; mC = tmp;
+            tmp = lP; lP = lC; lC = tmp;
+            tmp = iP; iP = iC; iC = tmp;
+            tmp = jP; jP = jC; jC = tmp;
+            progress.rows(1, m);
+        }
+
+        return new Result(bestScore, bestMatches, bestLength, bestStartI, bestStartJ, bestI, bestJ);
+    }
+
+    // profil de b pour chacune des 4 bases, calculé une fois par requête
+    private static short[][] profiles(byte[] b, int segLen) {
+        short[][] profiles = new short[4][segLen * LANES];
+        for (int c = 0; c < 4; c++) {
+            for (int s = 0; s < segLen; s++) {
+                for (int l = 0; l < LANES; l++) {
+                    int jj = l * segLen + s;
+                    profiles[c][s * LANES + l] = (short) (jj < b.length ? substitution(c, b[jj]) : MISMATCH);
+                }
+            }
+        }
+        return profiles;
+    }
+}
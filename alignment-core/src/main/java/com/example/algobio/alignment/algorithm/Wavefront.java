@@ -0,0 +1,233 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static com.example.algobio.alignment.algorithm.Scoring.GAP;
+import static com.example.algobio.alignment.algorithm.Scoring.substitution;
+
+// ------------------------------------------------------
+// Front d'onde par tuiles (anti-diagonales) pour une seule grande paire
+// ------------------------------------------------------
+// La matrice est découpée en tuiles TILE x TILE. La tuile (ti, tj) ne dépend que de
+// (ti-1, tj), (ti, tj-1) et (ti-1, tj-1) : toutes les tuiles d'une anti-diagonale
+// ti + tj = d sont indépendantes et tournent en parallèle sur le pool.
+// Chaque cellule applique exactement les règles du parcours séquentiel (mêmes priorités,
+// mêmes valeurs propagées), donc le résultat ne dépend pas de l'ordre des tuiles.
+// Pas de matrice : une ligne de bord (cols + 1) et une colonne de bord par ligne de tuiles.
+// La tuile (ti, tj) lit colonne[ti] (coin compris) et ligne[j0+1..j1], puis les remplace
+// par sa colonne de droite (coin = ancien ligne[j1]) et sa dernière ligne.
+public final class Wavefront {
+
+    // en dessous, la barrière par anti-diagonale coûte plus que le parallélisme ne rapporte
+    public static final long MIN_CELLS = 1L << 22;
+
+    // 512 colonnes x 3 champs x 2 lignes d'int : la tuile tient en cache L1/L2
+    private static final int TILE = 512;
+
+    record LocalResult(int score, int startI, int startJ, int endI, int endJ) {}
+
+    private interface TileTask {
+        void run(int ti, int tj);
+    }
+
+    private Wavefront() {}
+
+    // Smith–Waterman : passe avant parallèle (score + coin de départ du chemin), puis
+    // alignement global de la fenêtre comme dans StripedSmithWaterman.
+    public static Alignment smithWaterman(PackedDna a, PackedDna b, ForkJoinPool pool) {
+        return smithWaterman(a, b, pool, Progress.NONE);
+    }
+
+    public static Alignment smithWaterman(PackedDna a, PackedDna b, ForkJoinPool pool, Progress progress) {
+        byte[] x = a.toCodes(), y = b.toCodes();
+        LocalResult r = localScore(x, y, pool, progress);
+        progress.fillDone();
+        if (r.score() == 0) return new Alignment("", "", 0);
+
+        StringBuilder alA = new StringBuilder();
+        StringBuilder alB = new StringBuilder();
+        Hirschberg.solve(x, r.startI(), r.endI(), y, r.startJ(), r.endJ(), alA, alB, pool, progress);
+        return new Alignment(alA.toString(), alB.toString(), r.score(), r.startI(), r.startJ());
+    }
+
+    static LocalResult localScore(byte[] a, byte[] b, ForkJoinPool pool, Progress progress) {
+        int n = a.length, m = b.length;
+        if (n == 0 || m == 0) return new LocalResult(0, 0, 0, 0, 0);
+
+        int tileRows = (n + TILE - 1) / TILE, tileCols = (m + TILE - 1) / TILE;
+        int stride = TILE + 1;
+
+        // H = 0 sur les bords ; le coin d'un chemin qui part du bord est la cellule de bord
+        int[] rowH = new int[m + 1], rowI = new int[m + 1], rowJ = new int[m + 1];
+        int[] colH = new int[tileRows * stride], colI = new int[tileRows * stride], colJ = new int[tileRows * stride];
+        progress.allocated(3L * (m + 1 + tileRows * stride) * Integer.BYTES);
+        for (int j = 0; j <= m; j++) rowJ[j] = j;
+        for (int ti = 0; ti < tileRows; ti++) {
+            for (int r = 0; r <= TILE; r++) colI[ti * stride + r] = ti * TILE + r;
+        }
+
+        LocalResult[] tileBest = new LocalResult[tileRows * tileCols];
+
+        sweep(pool, tileRows, tileCols, (ti, tj) -> {
+            int i0 = ti * TILE, j0 = tj * TILE;
+            int h = Math.min(TILE, n - i0), w = Math.min(TILE, m - j0);
+            int base = ti * stride;
+
+            int[] pH = new int[w + 1], pI = new int[w + 1], pJ = new int[w + 1];
+            int[] cH = new int[w + 1], cI = new int[w + 1], cJ = new int[w + 1];
+            pH[0] = colH[base]; pI[0] = colI[base]; pJ[0] = colJ[base];
+            System.arraycopy(rowH, j0 + 1, pH, 1, w);
+            System.arraycopy(rowI, j0 + 1, pI, 1, w);
+            System.arraycopy(rowJ, j0 + 1, pJ, 1, w);
+            int cornerH = pH[w], cornerI = pI[w], cornerJ = pJ[w];
+
+            int bestScore = 0, bestI = 0, bestJ = 0, bestStartI = 0, bestStartJ = 0;
+
+            for (int r = 1; r <= h; r++) {
+                int i = i0 + r;
+                int ca = a[i - 1];
+                cH[0] = colH[base + r]; cI[0] = colI[base + r]; cJ[0] = colJ[base + r];
+
+                for (int c = 1; c <= w; c++) {
+                    int j = j0 + c;
+                    int diag = pH[c - 1] + substitution(ca, b[j - 1]);
+                    int up = pH[c] + GAP;
+                    int left = cH[c - 1] + GAP;
+
+                    // D > U > L > Z, comme SmithWaterman
+                    int best = 0, si = i, sj = j;
+                    if (diag > best) { best = diag; si = pI[c - 1]; sj = pJ[c - 1]; }
+                    if (up > best) { best = up; si = pI[c]; sj = pJ[c]; }
+                    if (left > best) { best = left; si = cI[c - 1]; sj = cJ[c - 1]; }
+
+                    cH[c] = best; cI[c] = si; cJ[c] = sj;
+
+                    if (best > bestScore) {
+                        bestScore = best;
+                        bestI = i; bestJ = j;
+                        bestStartI = si; bestStartJ = sj;
+                    }
+                }
+
+                colH[base + r] = cH[w]; colI[base + r] = cI[w]; colJ[base + r] = cJ[w];
+                int[] t;
+                t = pH; pH = cH; cH = t;
+                t = pI; pI = cI; cI = t;
+                t = pJ; pJ = cJ; cJ = t;
+                progress.rows(1, w);
+            }
+
+            colH[base] = cornerH; colI[base] = cornerI; colJ[base] = cornerJ;
+            System.arraycopy(pH, 1, rowH, j0 + 1, w);
+            System.arraycopy(pI, 1, rowI, j0 + 1, w);
+            System.arraycopy(pJ, 1, rowJ, j0 + 1, w);
+
+            if (bestScore > 0) {
+                tileBest[ti * tileCols + tj] = new LocalResult(bestScore, bestStartI, bestStartJ, bestI, bestJ);
+            }
+        });
+
+        // même cellule que le parcours ligne par ligne : score max, puis plus petit (i, j)
+        LocalResult best = new LocalResult(0, 0, 0, 0, 0);
+        for (LocalResult r : tileBest) {
+            if (r == null) continue;
+            if (r.score() > best.score()
+                    || (r.score() == best.score()
+                        && (r.endI() < best.endI() || (r.endI() == best.endI() && r.endJ() < best.endJ())))) {
+                best = r;
+            }
+        }
+        return best;
+    }
+
+    // Version parallèle de Hirschberg.crossingColumn (mêmes règles de propagation de j*).
+    static int crossingColumn(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo, int mid,
+                              ForkJoinPool pool, Progress progress) {
+        int rows = aTo - aFrom, cols = bTo - bFrom;
+        int tileRows = (rows + TILE - 1) / TILE, tileCols = (cols + TILE - 1) / TILE;
+        int stride = TILE + 1;
+
+        // bords : H = k * GAP ; E (colonne d'entrée dans la ligne mid) = 0
+        int[] rowH = new int[cols + 1], rowE = new int[cols + 1];
+        int[] colH = new int[tileRows * stride], colE = new int[tileRows * stride];
+        progress.allocated(2L * (cols + 1 + tileRows * stride) * Integer.BYTES);
+        for (int j = 1; j <= cols; j++) rowH[j] = rowH[j - 1] + GAP;
+        for (int ti = 0; ti < tileRows; ti++) {
+            for (int r = 0; r <= TILE; r++) colH[ti * stride + r] = (ti * TILE + r) * GAP;
+        }
+
+        sweep(pool, tileRows, tileCols, (ti, tj) -> {
+            int i0 = ti * TILE, j0 = tj * TILE;
+            int h = Math.min(TILE, rows - i0), w = Math.min(TILE, cols - j0);
+            int base = ti * stride;
+
+            int[] pH = new int[w + 1], pE = new int[w + 1];
+            int[] cH = new int[w + 1], cE = new int[w + 1];
+            pH[0] = colH[base]; pE[0] = colE[base];
+            System.arraycopy(rowH, j0 + 1, pH, 1, w);
+            System.arraycopy(rowE, j0 + 1, pE, 1, w);
+            int cornerH = pH[w], cornerE = pE[w];
+
+            for (int r = 1; r <= h; r++) {
+                int i = i0 + r;
+                int ca = a[aFrom + i - 1];
+                cH[0] = colH[base + r]; cE[0] = colE[base + r];
+
+                for (int c = 1; c <= w; c++) {
+                    int j = j0 + c;
+                    int diag = pH[c - 1] + substitution(ca, b[bFrom + j - 1]);
+                    int up = pH[c] + GAP;
+                    int left = cH[c - 1] + GAP;
+
+                    int best = diag;
+                    char t = 'D';
+                    if (up > best) { best = up; t = 'U'; }
+                    if (left > best) { best = left; t = 'L'; }
+                    cH[c] = best;
+
+                    if (i == mid + 1) {
+                        cE[c] = t == 'D' ? j - 1 : t == 'U' ? j : cE[c - 1];
+                    } else if (i > mid + 1) {
+                        cE[c] = t == 'D' ? pE[c - 1] : t == 'U' ? pE[c] : cE[c - 1];
+                    }
+                }
+
+                colH[base + r] = cH[w]; colE[base + r] = cE[w];
+                int[] t;
+                t = pH; pH = cH; cH = t;
+                t = pE; pE = cE; cE = t;
+                progress.rows(1, w);
+            }
+
+            colH[base] = cornerH; colE[base] = cornerE;
+            System.arraycopy(pH, 1, rowH, j0 + 1, w);
+            System.arraycopy(pE, 1, rowE, j0 + 1, w);
+        });
+
+        return rowE[cols];
+    }
+
+    // anti-diagonale par anti-diagonale ; invokeAll sert de barrière (et de happens-before)
+    private static void sweep(ForkJoinPool pool, int tileRows, int tileCols, TileTask task) {
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            for (int d = 0; d < tileRows + tileCols - 1; d++) {
+                int from = Math.max(0, d - tileCols + 1), to = Math.min(d, tileRows - 1);
+                if (from == to) {
+                    task.run(from, d - from);
+                    continue;
+                }
+                List<ForkJoinTask<?>> wave = new ArrayList<>(to - from + 1);
+                for (int ti = from; ti <= to; ti++) {
+                    int row = ti, col = d - ti;
+                    wave.add(ForkJoinTask.adapt(() -> task.run(row, col)));
+                }
+                ForkJoinTask.invokeAll(wave);
+            }
+        }));
+    }
+}
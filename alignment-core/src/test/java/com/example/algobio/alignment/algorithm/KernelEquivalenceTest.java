@@ -0,0 +1,167 @@
+package com.example.algobio.alignment.algorithm;
+
+import com.example.algobio.common.dna.PackedDna;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// ------------------------------------------------------
+// Noyaux optimisés contre leur référence
+// ------------------------------------------------------
+// Strié, front d'onde, Hirschberg et bande doivent redonner exactement l'alignement du
+// noyau de référence (mêmes priorités de traceback) : score, chaînes alignées et positions
+// de départ, c'est-à-dire l'égalité des records Alignment. Paires tirées avec une graine
+// fixe ; longueurs autour des tuiles du front d'onde (512) et de la limite des lanes 16 bits
+// du noyau strié.
+class KernelEquivalenceTest {
+
+    private static final long SEED = 20240517L;
+    private static final int TILE = 512;
+    private static final int[] TILE_LENGTHS = {1, 2, TILE - 1, TILE, TILE + 1, 2 * TILE, 2 * TILE + 1, 3 * TILE + 7};
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void stripedMatchesSmithWaterman() {
+        assumeTrue(SimdSupport.isAvailable(), "JVM lancée sans --add-modules jdk.incubator.vector");
+        Random rng = new Random(SEED);
+        for (int k = 0; k < 200; k++) {
+            PackedDna[] p = pair(rng, 1 + rng.nextInt(1500), 1 + rng.nextInt(1500));
+            assertEquals(SmithWaterman.align(p[0], p[1]), StripedSmithWaterman.align(p[0], p[1]), "paire " + k);
+        }
+    }
+
+    // n + m au bord de Short.MAX_VALUE : juste en dessous les lanes 16 bits portent des
+    // valeurs proches de la limite, juste au-dessus le noyau strié repasse en scalaire
+    @Test
+    void stripedMatchesSmithWatermanAcrossShortLimit() {
+        assumeTrue(SimdSupport.isAvailable(), "JVM lancée sans --add-modules jdk.incubator.vector");
+        Random rng = new Random(SEED + 1);
+
+        PackedDna[] below = similarPair(rng, 16_300, 0.05);
+        assertTrue(StripedSmithWaterman.supports(below[0], below[1]));
+        assertEquals(SmithWaterman.align(below[0], below[1]), StripedSmithWaterman.align(below[0], below[1]));
+
+        PackedDna[] above = similarPair(rng, 16_400, 0.05);
+        assertFalse(StripedSmithWaterman.supports(above[0], above[1]));
+        assertEquals(SmithWaterman.align(above[0], above[1]), StripedSmithWaterman.align(above[0], above[1]));
+    }
+
+    @Test
+    void wavefrontMatchesSmithWaterman() {
+        Random rng = new Random(SEED + 2);
+        for (int n : TILE_LENGTHS) {
+            for (int m : TILE_LENGTHS) {
+                PackedDna[] p = rng.nextBoolean() ? pair(rng, n, m) : similarPair(rng, n, m, 0.1);
+                assertEquals(SmithWaterman.align(p[0], p[1]), Wavefront.smithWaterman(p[0], p[1], pool),
+                        n + " x " + m);
+            }
+        }
+    }
+
+    @Test
+    void hirschbergMatchesNeedlemanWunsch() {
+        Random rng = new Random(SEED + 3);
+        for (int k = 0; k < 100; k++) {
+            PackedDna[] p = rng.nextBoolean()
+                    ? pair(rng, 1 + rng.nextInt(1500), 1 + rng.nextInt(1500))
+                    : similarPair(rng, 1 + rng.nextInt(1500), 0.2);
+            assertEquals(NeedlemanWunsch.align(p[0], p[1]), Hirschberg.align(p[0], p[1]), "paire " + k);
+        }
+        for (int n : TILE_LENGTHS) {
+            PackedDna[] p = similarPair(rng, n, 0.1);
+            assertEquals(NeedlemanWunsch.align(p[0], p[1]), Hirschberg.align(p[0], p[1]), "n = " + n);
+        }
+    }
+
+    // au-delà de Wavefront.MIN_CELLS, les passes avant de Hirschberg tournent en front d'onde
+    @Test
+    void hirschbergWithWavefrontMatchesNeedlemanWunsch() {
+        Random rng = new Random(SEED + 4);
+        PackedDna[] similar = similarPair(rng, 4 * TILE + 37, 0.1);
+        PackedDna[] unrelated = pair(rng, 4 * TILE + 37, 4 * TILE + 3);
+        for (PackedDna[] p : new PackedDna[][]{similar, unrelated}) {
+            assertTrue((long) p[0].length() * p[1].length() >= Wavefront.MIN_CELLS);
+            assertEquals(NeedlemanWunsch.align(p[0], p[1]), Hirschberg.align(p[0], p[1], pool));
+        }
+    }
+
+    // maxEdits volontairement trop petit une fois sur deux : la bande doit doubler
+    @Test
+    void bandedMatchesNeedlemanWunsch() {
+        Random rng = new Random(SEED + 5);
+        for (int k = 0; k < 100; k++) {
+            int n = 1 + rng.nextInt(1500);
+            PackedDna[] p = similarPair(rng, n, rng.nextDouble() * 0.3);
+            int maxEdits = rng.nextBoolean() ? 1 + rng.nextInt(4) : 1 + rng.nextInt(Math.max(1, n / 2));
+            assertEquals(NeedlemanWunsch.align(p[0], p[1]),
+                    BandedNeedlemanWunsch.align(p[0], p[1], maxEdits, Long.MAX_VALUE), "paire " + k);
+        }
+    }
+
+    private static PackedDna[] pair(Random rng, int n, int m) {
+        return new PackedDna[]{random(rng, n), random(rng, m)};
+    }
+
+    private static PackedDna[] similarPair(Random rng, int n, double rate) {
+        PackedDna a = random(rng, n);
+        return new PackedDna[]{a, mutate(rng, a, rate)};
+    }
+
+    // b : sous-séquence mutée au milieu d'un fond aléatoire, pour un alignement local long
+    private static PackedDna[] similarPair(Random rng, int n, int m, double rate) {
+        PackedDna a = random(rng, n);
+        PackedDna core = mutate(rng, a.subsequence(0, Math.min(n, m)), rate);
+        PackedDna.Builder b = new PackedDna.Builder(m);
+        int pad = Math.max(0, m - core.length());
+        for (int j = 0; j < pad / 2; j++) b.append(rng.nextInt(4));
+        for (int j = 0; j < core.length() && b.length() < m; j++) b.append(core.codeAt(j));
+        while (b.length() < m) b.append(rng.nextInt(4));
+        return new PackedDna[]{a, b.build()};
+    }
+
+    private static PackedDna random(Random rng, int n) {
+        PackedDna.Builder b = new PackedDna.Builder(n);
+        for (int i = 0; i < n; i++) b.append(rng.nextInt(4));
+        return b.build();
+    }
+
+    // substitutions, insertions et suppressions à parts égales
+    private static PackedDna mutate(Random rng, PackedDna a, double rate) {
+        PackedDna.Builder b = new PackedDna.Builder(a.length() + 16);
+        for (int i = 0; i < a.length(); i++) {
+            if (rng.nextDouble() >= rate) {
+                b.append(a.codeAt(i));
+                continue;
+            }
+            switch (rng.nextInt(3)) {
+                case 0 -> b.append((a.codeAt(i) + 1 + rng.nextInt(3)) & 3);
+                case 1 -> {
+                    b.append(rng.nextInt(4));
+                    b.append(a.codeAt(i));
+                }
+                default -> { }
+            }
+        }
+        if (b.length() == 0) b.append(rng.nextInt(4));
+        return b.build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.algobio.alignment.client.dto;
+
+public class SequenceDto {
+    private Long id;
+    private String sequence;
+    private String name;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSequence() { return sequence; }
+    public void setSequence(String sequence) { this.sequence = sequence; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
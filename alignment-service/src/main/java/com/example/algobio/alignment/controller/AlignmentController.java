@@ -1,8 +1,13 @@
 package com.example.algobio.alignment.controller;
 import com.example.algobio.alignment.dto.AlignmentRequest;
 import com.example.algobio.alignment.dto.AlignmentResponse;
+import com.example.algobio.alignment.dto.BatchAlignmentRequest;
+import com.example.algobio.alignment.dto.MsaRequest;
+import com.example.algobio.alignment.service.AlignmentAdmission;
 import com.example.algobio.alignment.service.AlignmentService;
+import com.example.algobio.alignment.service.MsaService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,20 +16,110 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/alignment")
 public class AlignmentController {
 
+    // longueur supposée d'une séquence passée par identifiant (pas encore chargée à l'admission)
+    private static final long UNKNOWN_LENGTH = 1000;
+
     private final AlignmentService service;
+    private final MsaService msa;
+    private final AlignmentAdmission admission;
 
-    public AlignmentController(AlignmentService service) {
+    public AlignmentController(AlignmentService service, MsaService msa, AlignmentAdmission admission) {
         this.service = service;
+        this.msa = msa;
+        this.admission = admission;
     }
 
     @PostMapping
-    public ResponseEntity<?> align(@Valid @RequestBody AlignmentRequest request) {
+    public ResponseEntity<?> align(@Valid @RequestBody AlignmentRequest request,
+                                   @RequestHeader(value = AlignmentAdmission.LANE_HEADER, required = false) String lane) {
+        try {
+            return ResponseEntity.ok(admission.run(AlignmentAdmission.lane(lane), cells(request), () ->
+                    service.align(request.getSeq1(), request.getSeq2(), request.getAlgorithm(),
+                            request.getMaxEdits(), request.getMinIdentity())
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (AlignmentAdmission.Rejected e) {
+            return tooManyRequests(e);
+        }
+    }
+
+    @PostMapping("/score")
+    public ResponseEntity<?> score(@Valid @RequestBody AlignmentRequest request,
+                                   @RequestHeader(value = AlignmentAdmission.LANE_HEADER, required = false) String lane) {
+        try {
+            return ResponseEntity.ok(admission.run(AlignmentAdmission.lane(lane), cells(request), () ->
+                    service.score(request.getSeq1(), request.getSeq2(), request.getAlgorithm(), request.getMinIdentity())
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (AlignmentAdmission.Rejected e) {
+            return tooManyRequests(e);
+        }
+    }
+
+    // un lot passe toujours par la voie batch
+    @PostMapping("/batch")
+    public ResponseEntity<?> batch(@Valid @RequestBody BatchAlignmentRequest request) {
+        try {
+            return ResponseEntity.ok(admission.run(AlignmentAdmission.Lane.BATCH, cells(request), () ->
+                    service.alignBatch(request)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (AlignmentAdmission.Rejected e) {
+            return tooManyRequests(e);
+        }
+    }
+
+    // alignement multiple progressif : voie batch, comme les lots
+    @PostMapping("/msa")
+    public ResponseEntity<?> msa(@Valid @RequestBody MsaRequest request) {
         try {
-            return ResponseEntity.ok(
-                    service.align(request.getSeq1(), request.getSeq2(), request.getAlgorithm())
-            );
+            return ResponseEntity.ok(admission.run(AlignmentAdmission.Lane.BATCH, cells(request), () ->
+                    msa.align(request)
+            ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (AlignmentAdmission.Rejected e) {
+            return tooManyRequests(e);
+        }
+    }
+
+    private ResponseEntity<?> tooManyRequests(AlignmentAdmission.Rejected e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    private static long cells(AlignmentRequest r) {
+        return (long) r.getSeq1().length() * r.getSeq2().length();
+    }
+
+    private static long cells(BatchAlignmentRequest r) {
+        long query = r.getQuery() != null ? r.getQuery().length() : UNKNOWN_LENGTH;
+        long targets = 0;
+        if (r.getTargets() != null) {
+            for (String t : r.getTargets()) targets += t == null ? 0 : t.length();
+        }
+        if (r.getTargetSequenceIds() != null) targets += r.getTargetSequenceIds().size() * UNKNOWN_LENGTH;
+        return query * targets;
+    }
+
+    // N - 1 alignements profil-profil d'environ la plus grande longueur au carré
+    private static long cells(MsaRequest r) {
+        long longest = 0;
+        int n = 0;
+        if (r.getSequences() != null) {
+            for (String s : r.getSequences()) {
+                longest = Math.max(longest, s == null ? 0 : s.length());
+                n++;
+            }
+        }
+        if (r.getSequenceIds() != null && !r.getSequenceIds().isEmpty()) {
+            longest = Math.max(longest, UNKNOWN_LENGTH);
+            n += r.getSequenceIds().size();
         }
+        return Math.max(0, n - 1) * longest * longest;
     }
 }
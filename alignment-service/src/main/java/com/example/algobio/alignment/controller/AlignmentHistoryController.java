@@ -1,9 +1,15 @@
 package com.example.algobio.alignment.controller;
 
+import com.example.algobio.alignment.dto.AlignmentHistoryPage;
+import com.example.algobio.alignment.dto.AlignmentResultRowDto;
 import com.example.algobio.alignment.entity.AlignmentResult;
 import com.example.algobio.alignment.repository.AlignmentResultRepository;
+import com.example.algobio.alignment.repository.AlignmentResultRowView;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @CrossOrigin(origins="*")
@@ -11,6 +17,8 @@ import java.util.List;
 @RequestMapping("/api/alignment")
 public class AlignmentHistoryController {
 
+    private static final int MAX_PAGE = 200;
+
     private final AlignmentResultRepository repo;
 
     public AlignmentHistoryController(AlignmentResultRepository repo) {
@@ -21,4 +29,55 @@ public class AlignmentHistoryController {
     public List<AlignmentResult> results() {
         return repo.findTop200ByOrderByCreatedAtDesc();
     }
+
+    // Historique léger par curseur : ?after=<createdAt>,<id>&limit=50 (plus récent d'abord)
+    @GetMapping("/history")
+    public ResponseEntity<?> history(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE));
+        List<AlignmentResultRowView> rows;
+        if (after == null || after.isBlank()) {
+            rows = repo.findHistory(size);
+        } else {
+            int comma = after.lastIndexOf(',');
+            try {
+                rows = repo.findHistoryAfter(
+                        LocalDateTime.parse(after.substring(0, comma).trim()),
+                        Long.parseLong(after.substring(comma + 1).trim()),
+                        size
+                );
+            } catch (StringIndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                return ResponseEntity.badRequest().body("Curseur invalide (attendu: <createdAt>,<id>).");
+            }
+        }
+
+        List<AlignmentResultRowDto> items = rows.stream()
+                .map(r -> new AlignmentResultRowDto(
+                        r.getId(),
+                        r.getAlgorithm(),
+                        r.getLength1(),
+                        r.getLength2(),
+                        r.getScore(),
+                        r.getIdentityPercent(),
+                        r.getCreatedAt()
+                ))
+                .toList();
+
+        String next = null;
+        if (items.size() == size) {
+            AlignmentResultRowDto last = items.get(items.size() - 1);
+            next = last.createdAt() + "," + last.id();
+        }
+        return ResponseEntity.ok(new AlignmentHistoryPage(items, next));
+    }
+
+    // alignement complet d'une ligne (rendu depuis le script d'édition)
+    @GetMapping("/results/{id}")
+    public ResponseEntity<?> result(@PathVariable Long id) {
+        return repo.findById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
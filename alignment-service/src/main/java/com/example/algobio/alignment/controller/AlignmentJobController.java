@@ -0,0 +1,51 @@
+package com.example.algobio.alignment.controller;
+
+import com.example.algobio.alignment.dto.AlignmentJobRequest;
+import com.example.algobio.alignment.dto.AlignmentJobStatus;
+import com.example.algobio.alignment.service.AlignmentJobService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+// Grandes paires : POST rend 202 + l'identifiant du job, GET suit l'avancement et rend le résultat,
+// DELETE annule (le calcul s'arrête à la ligne DP suivante).
+@CrossOrigin(origins="*")
+@RestController
+@RequestMapping("/api/alignment/jobs")
+public class AlignmentJobController {
+
+    private final AlignmentJobService jobs;
+
+    public AlignmentJobController(AlignmentJobService jobs) {
+        this.jobs = jobs;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> submit(@Valid @RequestBody AlignmentJobRequest request) {
+        try {
+            AlignmentJobStatus status = jobs.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/alignment/jobs/" + status.id()))
+                    .body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(@PathVariable String id) {
+        AlignmentJobStatus status = jobs.get(id);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancel(@PathVariable String id) {
+        AlignmentJobStatus status = jobs.cancel(id);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+}
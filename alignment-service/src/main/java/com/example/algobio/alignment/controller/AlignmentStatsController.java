@@ -1,25 +1,35 @@
 package com.example.algobio.alignment.controller;
 
-import com.example.algobio.alignment.repository.AlignmentResultRepository;
+import com.example.algobio.alignment.repository.AlignmentStatsDailyRepository;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+// Lit les agrégats journaliers (alignment_stats_daily) : O(jours), pas O(résultats).
+// Les compteurs ont au plus alignment.stats.flush-interval-ms de retard.
 @CrossOrigin(origins="*")
 @RestController
 @RequestMapping("/api/alignment")
 public class AlignmentStatsController {
 
-    private final AlignmentResultRepository repo;
+    private final AlignmentStatsDailyRepository repo;
 
-    public AlignmentStatsController(AlignmentResultRepository repo) {
+    public AlignmentStatsController(AlignmentStatsDailyRepository repo) {
         this.repo = repo;
     }
 
     @GetMapping("/stats")
-    public Map<String, Long> stats() {
-        return Map.of("alignments", repo.count());
+    public Map<String, Object> stats() {
+        Object[] t = repo.totals().get(0);
+        long alignments = ((Number) t[0]).longValue();
+        double scoreSum = ((Number) t[1]).doubleValue();
+        double identitySum = ((Number) t[2]).doubleValue();
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("alignments", alignments);
+        out.put("averageScore", alignments == 0 ? 0.0 : scoreSum / alignments);
+        out.put("averageIdentityPercent", alignments == 0 ? 0.0 : identitySum / alignments);
+        return out;
     }
 
     @GetMapping("/stats/weekly")
@@ -0,0 +1,90 @@
+package com.example.algobio.alignment.controller;
+
+import com.example.algobio.alignment.dto.DistanceMatrixChunk;
+import com.example.algobio.alignment.dto.DistanceMatrixRequest;
+import com.example.algobio.alignment.dto.DistanceMatrixResponse;
+import com.example.algobio.alignment.service.AlignmentAdmission;
+import com.example.algobio.alignment.service.DistanceMatrixService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+// POST : matrice N x N d'un ensemble de séquences (voie batch de l'admission).
+// Petite matrice rendue directement ; grande matrice : 201 + id, puis
+// GET /{id}/rows?from=&count= par morceaux, DELETE /{id} quand le client a fini.
+@CrossOrigin(origins="*")
+@RestController
+@RequestMapping("/api/alignment/matrix")
+public class DistanceMatrixController {
+
+    // longueur supposée d'une séquence passée par identifiant (pas encore chargée à l'admission)
+    private static final long UNKNOWN_LENGTH = 1000;
+
+    private final DistanceMatrixService matrices;
+    private final AlignmentAdmission admission;
+
+    public DistanceMatrixController(DistanceMatrixService matrices, AlignmentAdmission admission) {
+        this.matrices = matrices;
+        this.admission = admission;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> compute(@Valid @RequestBody DistanceMatrixRequest request) {
+        try {
+            DistanceMatrixResponse res = admission.run(AlignmentAdmission.Lane.BATCH, cells(request), () ->
+                    matrices.compute(request)
+            );
+            if (res.id() == null) return ResponseEntity.ok(res);
+            return ResponseEntity.created(URI.create("/api/alignment/matrix/" + res.id())).body(res);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (AlignmentAdmission.Rejected e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(@PathVariable String id) {
+        DistanceMatrixResponse res = matrices.get(id);
+        return res == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(res);
+    }
+
+    @GetMapping("/{id}/rows")
+    public ResponseEntity<?> rows(@PathVariable String id,
+                                  @RequestParam(defaultValue = "0") int from,
+                                  @RequestParam(defaultValue = "100") int count) {
+        try {
+            DistanceMatrixChunk chunk = matrices.rows(id, from, count);
+            return chunk == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(chunk);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> delete(@PathVariable String id) {
+        return matrices.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    // paires du triangle supérieur : ((somme des longueurs)² - somme des carrés) / 2
+    private static long cells(DistanceMatrixRequest r) {
+        long sum = 0, squares = 0;
+        if (r.getSequences() != null) {
+            for (String s : r.getSequences()) {
+                long len = s == null ? 0 : s.length();
+                sum += len;
+                squares += len * len;
+            }
+        }
+        if (r.getSequenceIds() != null) {
+            sum += r.getSequenceIds().size() * UNKNOWN_LENGTH;
+            squares += r.getSequenceIds().size() * UNKNOWN_LENGTH * UNKNOWN_LENGTH;
+        }
+        return (sum * sum - squares) / 2;
+    }
+}
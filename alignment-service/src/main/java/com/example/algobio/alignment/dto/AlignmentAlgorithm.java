@@ -2,5 +2,6 @@ package com.example.algobio.alignment.dto;
 
 public enum AlignmentAlgorithm {
     NEEDLEMAN_WUNSCH,
-    BLAST_SIMPLIFIED
+    BLAST_SIMPLIFIED,
+    EDIT_DISTANCE
 }
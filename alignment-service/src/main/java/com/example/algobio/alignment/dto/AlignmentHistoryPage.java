@@ -0,0 +1,9 @@
+package com.example.algobio.alignment.dto;
+
+import java.util.List;
+
+// next : curseur "<createdAt>,<id>" de la page suivante, null s'il n'y en a plus
+public record AlignmentHistoryPage(
+        List<AlignmentResultRowDto> items,
+        String next
+) {}
@@ -0,0 +1,21 @@
+package com.example.algobio.alignment.dto;
+
+import jakarta.validation.constraints.Min;
+
+// même paire qu'un POST /api/alignment, plus un budget optionnel (borné par la configuration)
+public class AlignmentJobRequest extends AlignmentRequest {
+
+    // durée max du calcul, en secondes (hors attente dans la file)
+    @Min(1)
+    private Long maxSeconds;
+
+    // nombre max de cellules DP calculées
+    @Min(1)
+    private Long maxCells;
+
+    public Long getMaxSeconds() { return maxSeconds; }
+    public void setMaxSeconds(Long maxSeconds) { this.maxSeconds = maxSeconds; }
+
+    public Long getMaxCells() { return maxCells; }
+    public void setMaxCells(Long maxCells) { this.maxCells = maxCells; }
+}
@@ -0,0 +1,9 @@
+package com.example.algobio.alignment.dto;
+
+public enum AlignmentJobState {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED
+}
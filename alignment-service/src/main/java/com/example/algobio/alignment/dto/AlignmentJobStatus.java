@@ -0,0 +1,16 @@
+package com.example.algobio.alignment.dto;
+
+import java.time.LocalDateTime;
+
+// progress : fraction des lignes DP calculées (0..1) ; result renseigné quand status = SUCCEEDED,
+// error quand status = FAILED ou CANCELLED
+public record AlignmentJobStatus(
+        String id,
+        AlignmentJobState status,
+        double progress,
+        AlignmentResponse result,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {}
@@ -1,5 +1,8 @@
 package com.example.algobio.alignment.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -13,6 +16,14 @@ public class AlignmentRequest {
     @NotNull
     private AlignmentAlgorithm algorithm;
 
+    // optionnel : nombre de modifications attendues, active NW en bande
+    @Min(0)
+    private Integer maxEdits;
+
+    // optionnel : identité minimale (%) ; les paires qui ne peuvent pas l'atteindre sont écartées
+    @DecimalMin("0.0") @DecimalMax("100.0")
+    private Double minIdentity;
+
     public String getSeq1() { return seq1; }
     public void setSeq1(String seq1) { this.seq1 = seq1; }
 
@@ -21,4 +32,10 @@ public class AlignmentRequest {
 
     public AlignmentAlgorithm getAlgorithm() { return algorithm; }
     public void setAlgorithm(AlignmentAlgorithm algorithm) { this.algorithm = algorithm; }
+
+    public Integer getMaxEdits() { return maxEdits; }
+    public void setMaxEdits(Integer maxEdits) { this.maxEdits = maxEdits; }
+
+    public Double getMinIdentity() { return minIdentity; }
+    public void setMinIdentity(Double minIdentity) { this.minIdentity = minIdentity; }
 }
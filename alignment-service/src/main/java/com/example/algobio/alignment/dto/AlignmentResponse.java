@@ -5,6 +5,11 @@ public class AlignmentResponse {
     private String alignedSeq2;
     private int score;
     private double identityPercent;
+    // position (0-based) de la première colonne dans seq1 / seq2 : 0 en global, début de la fenêtre en SW
+    private int alignStart1;
+    private int alignStart2;
+    private Integer editDistance;
+    private boolean filtered;
 
     public AlignmentResponse(String a1, String a2, int score, double identityPercent) {
         this.alignedSeq1 = a1;
@@ -13,8 +18,32 @@ public class AlignmentResponse {
         this.identityPercent = identityPercent;
     }
 
+    public AlignmentResponse(String a1, String a2, int score, double identityPercent, int alignStart1, int alignStart2) {
+        this(a1, a2, score, identityPercent);
+        this.alignStart1 = alignStart1;
+        this.alignStart2 = alignStart2;
+    }
+
+    // paire écartée par le préfiltre minIdentity : aucun alignement calculé
+    public static AlignmentResponse filtered(int editDistance) {
+        AlignmentResponse res = new AlignmentResponse("", "", 0, 0.0);
+        res.editDistance = editDistance;
+        res.filtered = true;
+        return res;
+    }
+
+    public static AlignmentResponse editDistance(int editDistance, double similarityPercent) {
+        AlignmentResponse res = new AlignmentResponse("", "", editDistance, similarityPercent);
+        res.editDistance = editDistance;
+        return res;
+    }
+
     public String getAlignedSeq1() { return alignedSeq1; }
     public String getAlignedSeq2() { return alignedSeq2; }
     public int getScore() { return score; }
     public double getIdentityPercent() { return identityPercent; }
+    public int getAlignStart1() { return alignStart1; }
+    public int getAlignStart2() { return alignStart2; }
+    public Integer getEditDistance() { return editDistance; }
+    public boolean isFiltered() { return filtered; }
 }
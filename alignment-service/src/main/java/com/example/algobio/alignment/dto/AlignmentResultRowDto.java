@@ -0,0 +1,13 @@
+package com.example.algobio.alignment.dto;
+
+import java.time.LocalDateTime;
+
+public record AlignmentResultRowDto(
+        Long id,
+        String algorithm,
+        int length1,
+        int length2,
+        int score,
+        double identityPercent,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,22 @@
+package com.example.algobio.alignment.dto;
+
+public class AlignmentScoreResponse {
+    private int score;
+    private double identityPercent;
+    private boolean filtered;
+
+    public AlignmentScoreResponse(int score, double identityPercent) {
+        this.score = score;
+        this.identityPercent = identityPercent;
+    }
+
+    public static AlignmentScoreResponse filtered() {
+        AlignmentScoreResponse res = new AlignmentScoreResponse(0, 0.0);
+        res.filtered = true;
+        return res;
+    }
+
+    public int getScore() { return score; }
+    public double getIdentityPercent() { return identityPercent; }
+    public boolean isFiltered() { return filtered; }
+}
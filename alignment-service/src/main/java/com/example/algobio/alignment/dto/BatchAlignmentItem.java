@@ -0,0 +1,9 @@
+package com.example.algobio.alignment.dto;
+
+// index : position de la cible dans la requête ; error renseigné si la cible est invalide
+public record BatchAlignmentItem(
+        int index,
+        Long sequenceId,
+        AlignmentResponse result,
+        String error
+) {}
@@ -0,0 +1,53 @@
+package com.example.algobio.alignment.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Une requête contre plusieurs cibles : chaque paire est alignée comme
+// POST /api/alignment avec seq1 = cible et seq2 = requête (le profil strié
+// et le Peq de Myers de la requête sont calculés une seule fois).
+public class BatchAlignmentRequest {
+
+    // requête en ligne, ou via son id dans sequence-service
+    private String query;
+    private Long querySequenceId;
+
+    // cibles en ligne et/ou par id (les résultats suivent cet ordre : inline puis ids)
+    private List<String> targets = new ArrayList<>();
+    private List<Long> targetSequenceIds = new ArrayList<>();
+
+    @NotNull
+    private AlignmentAlgorithm algorithm;
+
+    @Min(0)
+    private Integer maxEdits;
+
+    @DecimalMin("0.0") @DecimalMax("100.0")
+    private Double minIdentity;
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public Long getQuerySequenceId() { return querySequenceId; }
+    public void setQuerySequenceId(Long querySequenceId) { this.querySequenceId = querySequenceId; }
+
+    public List<String> getTargets() { return targets; }
+    public void setTargets(List<String> targets) { this.targets = targets; }
+
+    public List<Long> getTargetSequenceIds() { return targetSequenceIds; }
+    public void setTargetSequenceIds(List<Long> targetSequenceIds) { this.targetSequenceIds = targetSequenceIds; }
+
+    public AlignmentAlgorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(AlignmentAlgorithm algorithm) { this.algorithm = algorithm; }
+
+    public Integer getMaxEdits() { return maxEdits; }
+    public void setMaxEdits(Integer maxEdits) { this.maxEdits = maxEdits; }
+
+    public Double getMinIdentity() { return minIdentity; }
+    public void setMinIdentity(Double minIdentity) { this.minIdentity = minIdentity; }
+}
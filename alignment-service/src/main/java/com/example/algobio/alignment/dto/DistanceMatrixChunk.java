@@ -0,0 +1,10 @@
+package com.example.algobio.alignment.dto;
+
+// lignes [fromRow, fromRow + scores.length) d'une matrice stockée, colonnes complètes
+public record DistanceMatrixChunk(
+        String id,
+        int size,
+        int fromRow,
+        int[][] scores,
+        double[][] identityPercent
+) {}
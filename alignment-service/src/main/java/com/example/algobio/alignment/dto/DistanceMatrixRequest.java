@@ -0,0 +1,26 @@
+package com.example.algobio.alignment.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// N séquences (en ligne puis par id, dans cet ordre) -> matrice N x N score / identité.
+// Chaque paire est évaluée comme POST /api/alignment/score (sans préfiltre ni persistance).
+public class DistanceMatrixRequest {
+
+    private List<String> sequences = new ArrayList<>();
+    private List<Long> sequenceIds = new ArrayList<>();
+
+    @NotNull
+    private AlignmentAlgorithm algorithm;
+
+    public List<String> getSequences() { return sequences; }
+    public void setSequences(List<String> sequences) { this.sequences = sequences; }
+
+    public List<Long> getSequenceIds() { return sequenceIds; }
+    public void setSequenceIds(List<Long> sequenceIds) { this.sequenceIds = sequenceIds; }
+
+    public AlignmentAlgorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(AlignmentAlgorithm algorithm) { this.algorithm = algorithm; }
+}
@@ -0,0 +1,16 @@
+package com.example.algobio.alignment.dto;
+
+import java.time.LocalDateTime;
+
+// Petite matrice : scores / identityPercent renseignés, id null.
+// Grande matrice : stockée sur disque, id + expiresAt renseignés et matrices null ;
+// les lignes se téléchargent par morceaux (GET /api/alignment/matrix/{id}/rows).
+// Pour EDIT_DISTANCE, score = distance d'édition.
+public record DistanceMatrixResponse(
+        String id,
+        int size,
+        AlignmentAlgorithm algorithm,
+        int[][] scores,
+        double[][] identityPercent,
+        LocalDateTime expiresAt
+) {}
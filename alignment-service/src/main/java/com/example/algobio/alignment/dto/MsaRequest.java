@@ -0,0 +1,17 @@
+package com.example.algobio.alignment.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// séquences à aligner ensemble : en ligne puis par id (les lignes du résultat suivent cet ordre)
+public class MsaRequest {
+
+    private List<String> sequences = new ArrayList<>();
+    private List<Long> sequenceIds = new ArrayList<>();
+
+    public List<String> getSequences() { return sequences; }
+    public void setSequences(List<String> sequences) { this.sequences = sequences; }
+
+    public List<Long> getSequenceIds() { return sequenceIds; }
+    public void setSequenceIds(List<Long> sequenceIds) { this.sequenceIds = sequenceIds; }
+}
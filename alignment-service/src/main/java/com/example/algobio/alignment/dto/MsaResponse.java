@@ -0,0 +1,13 @@
+package com.example.algobio.alignment.dto;
+
+import java.util.List;
+
+// aligned : une ligne par séquence (même longueur, '-' pour les gaps), dans l'ordre de la requête
+// guideTree : arbre guide Newick, feuilles = positions dans la requête
+// sumOfPairsScore : somme des scores NW de toutes les paires de lignes (gap/gap = 0)
+public record MsaResponse(
+        List<String> aligned,
+        int columns,
+        String guideTree,
+        long sumOfPairsScore
+) {}
@@ -1,30 +1,49 @@
 package com.example.algobio.alignment.entity;
 
+import com.example.algobio.common.alignment.EditScript;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "alignment_results")
+@Table(name = "alignment_results",
+        indexes = {
+                @Index(name = "idx_alignment_results_content_hash", columnList = "content_hash"),
+                @Index(name = "idx_alignment_results_created_id", columnList = "created_at, id")
+        })
 public class AlignmentResult {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, length = 10000)
+    @Column(nullable = false, columnDefinition = "TEXT")
     private String sequence1;
 
-    @Column(nullable = false, length = 10000)
+    @Column(nullable = false, columnDefinition = "TEXT")
     private String sequence2;
 
     @Column(nullable = false)
     private String algorithm;
 
-    @Column(nullable = false, length = 12000)
-    private String aligned1;
+    // Alignement stocké en script d'édition (voir EditScript), rendu à la demande.
+    @Column(columnDefinition = "TEXT")
+    private String cigar;
 
-    @Column(nullable = false, length = 12000)
-    private String aligned2;
+    @Column(name = "align_start1")
+    private Integer alignStart1;
+
+    @Column(name = "align_start2")
+    private Integer alignStart2;
+
+    // anciennes lignes (texte aligné complet) : lues seulement si cigar est null
+    @Column(name = "aligned1", columnDefinition = "TEXT")
+    private String legacyAligned1;
+
+    @Column(name = "aligned2", columnDefinition = "TEXT")
+    private String legacyAligned2;
+
+    @Transient
+    private EditScript.Rendered rendered;
 
     @Column(nullable = false)
     private int score;
@@ -32,6 +51,10 @@ public class AlignmentResult {
     @Column(nullable = false)
     private double identityPercent;
 
+    // SHA-256(algorithme, seq1, seq2) : clé du cache de résultats (null pour les anciennes lignes)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "created_at" , nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -47,11 +70,28 @@ public class AlignmentResult {
     public String getAlgorithm() { return algorithm; }
     public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
 
-    public String getAligned1() { return aligned1; }
-    public void setAligned1(String aligned1) { this.aligned1 = aligned1; }
-
-    public String getAligned2() { return aligned2; }
-    public void setAligned2(String aligned2) { this.aligned2 = aligned2; }
+    public String getCigar() { return cigar; }
+    public int getAlignStart1() { return alignStart1 == null ? 0 : alignStart1; }
+    public int getAlignStart2() { return alignStart2 == null ? 0 : alignStart2; }
+
+    public void setAlignment(String aligned1, String aligned2, int alignStart1, int alignStart2) {
+        this.cigar = EditScript.encode(aligned1, aligned2);
+        this.alignStart1 = alignStart1;
+        this.alignStart2 = alignStart2;
+        this.rendered = new EditScript.Rendered(aligned1, aligned2);
+    }
+
+    public String getAligned1() { return render().aligned1(); }
+    public String getAligned2() { return render().aligned2(); }
+
+    private EditScript.Rendered render() {
+        if (rendered == null) {
+            rendered = cigar == null
+                    ? new EditScript.Rendered(legacyAligned1, legacyAligned2)
+                    : EditScript.render(cigar, sequence1, getAlignStart1(), sequence2, getAlignStart2());
+        }
+        return rendered;
+    }
 
     public int getScore() { return score; }
     public void setScore(int score) { this.score = score; }
@@ -59,6 +99,9 @@ public class AlignmentResult {
     public double getIdentityPercent() { return identityPercent; }
     public void setIdentityPercent(double identityPercent) { this.identityPercent = identityPercent; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
@@ -0,0 +1,26 @@
+package com.example.algobio.alignment.entity;
+
+import jakarta.persistence.*;
+
+// Agrégats par jour et par algorithme, alimentés par AlignmentStatsRollup
+@Entity
+@Table(name = "alignment_stats_daily")
+public class AlignmentStatsDaily {
+
+    @EmbeddedId
+    private AlignmentStatsDailyId id;
+
+    @Column(nullable = false)
+    private long alignments;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    @Column(name = "identity_sum", nullable = false)
+    private double identitySum;
+
+    public AlignmentStatsDailyId getId() { return id; }
+    public long getAlignments() { return alignments; }
+    public long getScoreSum() { return scoreSum; }
+    public double getIdentitySum() { return identitySum; }
+}
@@ -0,0 +1,40 @@
+package com.example.algobio.alignment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class AlignmentStatsDailyId implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private String algorithm;
+
+    public AlignmentStatsDailyId() {}
+
+    public AlignmentStatsDailyId(LocalDate day, String algorithm) {
+        this.day = day;
+        this.algorithm = algorithm;
+    }
+
+    public LocalDate getDay() { return day; }
+    public String getAlgorithm() { return algorithm; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AlignmentStatsDailyId other)) return false;
+        return Objects.equals(day, other.day) && Objects.equals(algorithm, other.algorithm);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, algorithm);
+    }
+}
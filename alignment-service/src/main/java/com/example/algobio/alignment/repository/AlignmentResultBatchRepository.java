@@ -0,0 +1,49 @@
+package com.example.algobio.alignment.repository;
+
+import com.example.algobio.alignment.entity.AlignmentResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Insertions JDBC groupées : avec des ids IDENTITY, Hibernate fait un INSERT par ligne
+// même dans saveAll, d'où ce chemin direct pour les lots.
+@Repository
+public class AlignmentResultBatchRepository {
+
+    private static final String INSERT = """
+        INSERT INTO alignment_results
+            (sequence1, sequence2, algorithm, cigar, align_start1, align_start2,
+             score, identity_percent, content_hash, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+
+    public AlignmentResultBatchRepository(
+            JdbcTemplate jdbc,
+            @Value("${alignment.batch.insert-size:500}") int batchSize
+    ) {
+        this.jdbc = jdbc;
+        this.batchSize = batchSize;
+    }
+
+    public void insertAll(List<AlignmentResult> rows) {
+        if (rows.isEmpty()) return;
+        jdbc.batchUpdate(INSERT, rows, batchSize, (ps, r) -> {
+            ps.setString(1, r.getSequence1());
+            ps.setString(2, r.getSequence2());
+            ps.setString(3, r.getAlgorithm());
+            ps.setString(4, r.getCigar());
+            ps.setInt(5, r.getAlignStart1());
+            ps.setInt(6, r.getAlignStart2());
+            ps.setInt(7, r.getScore());
+            ps.setDouble(8, r.getIdentityPercent());
+            ps.setString(9, r.getContentHash());
+            ps.setTimestamp(10, Timestamp.valueOf(r.getCreatedAt()));
+        });
+    }
+}
@@ -3,8 +3,11 @@ package com.example.algobio.alignment.repository;
 import com.example.algobio.alignment.entity.AlignmentResult;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface AlignmentResultRepository extends JpaRepository<AlignmentResult, Long> {
 
@@ -17,5 +20,32 @@ public interface AlignmentResultRepository extends JpaRepository<AlignmentResult
   """, nativeQuery = true)
     List<Object[]> countByWeekOfMonth();
     List<AlignmentResult> findTop200ByOrderByCreatedAtDesc();
+
+    Optional<AlignmentResult> findFirstByContentHashOrderByIdDesc(String contentHash);
+
+    // Historique par curseur (created_at, id) décroissant, via idx_alignment_results_created_id.
+    // octet_length lit la taille dans l'en-tête TOAST sans décompresser la séquence (ASCII).
+    @Query(value = """
+    SELECT id, algorithm,
+           octet_length(sequence1) AS length1, octet_length(sequence2) AS length2,
+           score, identity_percent AS identityPercent, created_at AS createdAt
+    FROM alignment_results
+    ORDER BY created_at DESC, id DESC
+    LIMIT :limit
+  """, nativeQuery = true)
+    List<AlignmentResultRowView> findHistory(@Param("limit") int limit);
+
+    @Query(value = """
+    SELECT id, algorithm,
+           octet_length(sequence1) AS length1, octet_length(sequence2) AS length2,
+           score, identity_percent AS identityPercent, created_at AS createdAt
+    FROM alignment_results
+    WHERE (created_at, id) < (:createdAt, :id)
+    ORDER BY created_at DESC, id DESC
+    LIMIT :limit
+  """, nativeQuery = true)
+    List<AlignmentResultRowView> findHistoryAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") long id,
+                                                  @Param("limit") int limit);
 }
 
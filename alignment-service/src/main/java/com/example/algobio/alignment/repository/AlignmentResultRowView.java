@@ -0,0 +1,14 @@
+package com.example.algobio.alignment.repository;
+
+import java.time.LocalDateTime;
+
+// projection native de l'historique : aucune colonne de séquence n'est lue
+public interface AlignmentResultRowView {
+    Long getId();
+    String getAlgorithm();
+    int getLength1();
+    int getLength2();
+    int getScore();
+    double getIdentityPercent();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,48 @@
+package com.example.algobio.alignment.repository;
+
+import com.example.algobio.alignment.entity.AlignmentStatsDaily;
+import com.example.algobio.alignment.entity.AlignmentStatsDailyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AlignmentStatsDailyRepository extends JpaRepository<AlignmentStatsDaily, AlignmentStatsDailyId> {
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+    INSERT INTO alignment_stats_daily (day, algorithm, alignments, score_sum, identity_sum)
+    VALUES (:day, :algorithm, :alignments, :scoreSum, :identitySum)
+    ON CONFLICT (day, algorithm) DO UPDATE SET
+        alignments   = alignment_stats_daily.alignments   + EXCLUDED.alignments,
+        score_sum    = alignment_stats_daily.score_sum    + EXCLUDED.score_sum,
+        identity_sum = alignment_stats_daily.identity_sum + EXCLUDED.identity_sum
+  """, nativeQuery = true)
+    void add(@Param("day") LocalDate day,
+             @Param("algorithm") String algorithm,
+             @Param("alignments") long alignments,
+             @Param("scoreSum") long scoreSum,
+             @Param("identitySum") double identitySum);
+
+    // une ligne : alignements, somme des scores, somme des identités
+    @Query(value = """
+    SELECT COALESCE(SUM(alignments), 0), COALESCE(SUM(score_sum), 0), COALESCE(SUM(identity_sum), 0)
+    FROM alignment_stats_daily
+  """, nativeQuery = true)
+    List<Object[]> totals();
+
+    // même découpage que l'ancien countByWeekOfMonth, mais sur O(jours) lignes
+    @Query(value = """
+    SELECT ('W' || CEIL(EXTRACT(DAY FROM day)/7.0)) AS week,
+           SUM(alignments) AS alignments
+    FROM alignment_stats_daily
+    GROUP BY week
+    ORDER BY week
+  """, nativeQuery = true)
+    List<Object[]> countByWeekOfMonth();
+}
@@ -0,0 +1,193 @@
+package com.example.algobio.alignment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// ------------------------------------------------------
+// Contrôle d'admission des calculs synchrones
+// ------------------------------------------------------
+// Les alignements ne tournent plus sur le thread servlet mais sur un pool de la taille des
+// coeurs. Chaque tâche a un coût estimé (n x m cellules) et une voie :
+//   INTERACTIVE : appels directs, servis en premier
+//   BATCH       : /batch et les appelants en masse (mutation-service, en-tête X-Alignment-Lane)
+// Attente prévue = cellules devant la tâche / débit mesuré (moyenne glissante, cellules/s).
+// Une tâche interactive n'attend que les interactives en file ; une tâche batch attend tout.
+// Au-delà du SLO de la voie (ou file pleine), refus immédiat : 429 + Retry-After.
+// Priorité stricte : sous charge interactive continue, les tâches batch sont refusées par
+// leur propre SLO plutôt que d'attendre indéfiniment.
+@Component
+public class AlignmentAdmission {
+
+    public enum Lane { INTERACTIVE, BATCH }
+
+    public static final String LANE_HEADER = "X-Alignment-Lane";
+
+    public static class Rejected extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        Rejected(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    }
+
+    // en dessous, le temps mesuré est surtout du surcoût : pas de mise à jour du débit
+    private static final long MIN_SAMPLE_CELLS = 1_000_000;
+
+    private final class Task extends FutureTask<Object> implements Comparable<Task> {
+        final Lane lane;
+        final long cells;
+        final long seq = sequence.incrementAndGet();
+        final long enqueuedAt = System.nanoTime();
+
+        Task(Lane lane, long cells, Supplier<?> work) {
+            super(work::get);
+            this.lane = lane;
+            this.cells = cells;
+        }
+
+        @Override
+        public void run() {
+            int l = lane.ordinal();
+            queuedCells[l].addAndGet(-cells);
+            queued[l].decrementAndGet();
+            waits[l].record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            runningCells.addAndGet(cells);
+            long start = System.nanoTime();
+            try {
+                super.run();
+            } finally {
+                runningCells.addAndGet(-cells);
+                observe(cells, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int compareTo(Task o) {
+            if (lane != o.lane) return lane.compareTo(o.lane);
+            return Long.compare(seq, o.seq);
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueCapacity;
+    private final long[] sloNanos = new long[Lane.values().length];
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong[] queuedCells = { new AtomicLong(), new AtomicLong() };
+    private final AtomicInteger[] queued = { new AtomicInteger(), new AtomicInteger() };
+    private final AtomicLong runningCells = new AtomicLong();
+    private final Timer[] waits = new Timer[Lane.values().length];
+    private final Counter[] rejected = new Counter[Lane.values().length];
+
+    // débit d'un thread, en cellules par seconde
+    private volatile double cellsPerSecond;
+
+    public AlignmentAdmission(
+            MeterRegistry registry,
+            @Value("${alignment.admission.threads:0}") int threads,
+            @Value("${alignment.admission.queue-capacity:1000}") int queueCapacity,
+            @Value("${alignment.admission.slo-ms.interactive:2000}") long interactiveSloMs,
+            @Value("${alignment.admission.slo-ms.batch:30000}") long batchSloMs,
+            @Value("${alignment.admission.initial-cells-per-second:300000000}") double initialCellsPerSecond
+    ) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.sloNanos[Lane.INTERACTIVE.ordinal()] = TimeUnit.MILLISECONDS.toNanos(interactiveSloMs);
+        this.sloNanos[Lane.BATCH.ordinal()] = TimeUnit.MILLISECONDS.toNanos(batchSloMs);
+        this.cellsPerSecond = initialCellsPerSecond;
+
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "alignment-cpu-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        for (Lane lane : Lane.values()) {
+            int l = lane.ordinal();
+            List<Tag> tags = List.of(Tag.of("lane", lane.name().toLowerCase()));
+            registry.gauge("alignment.admission.queue.size", tags, queued[l], AtomicInteger::get);
+            registry.gauge("alignment.admission.queue.cells", tags, queuedCells[l], AtomicLong::get);
+            waits[l] = Timer.builder("alignment.admission.wait")
+                    .tag("lane", lane.name().toLowerCase())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+            rejected[l] = registry.counter("alignment.admission.rejected", "lane", lane.name().toLowerCase());
+        }
+        registry.gauge("alignment.admission.predicted.wait.seconds",
+                List.of(Tag.of("lane", "interactive")), this, a -> a.predictedWaitNanos(Lane.INTERACTIVE) / 1e9);
+        registry.gauge("alignment.admission.predicted.wait.seconds",
+                List.of(Tag.of("lane", "batch")), this, a -> a.predictedWaitNanos(Lane.BATCH) / 1e9);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // valeur de l'en-tête X-Alignment-Lane ; absente ou inconnue = INTERACTIVE
+    public static Lane lane(String header) {
+        return header != null && header.trim().equalsIgnoreCase("batch") ? Lane.BATCH : Lane.INTERACTIVE;
+    }
+
+    // exécute work sur le pool et attend son résultat ; Rejected si l'attente prévue dépasse le SLO
+    @SuppressWarnings("unchecked")
+    public <T> T run(Lane lane, long cells, Supplier<T> work) {
+        int l = lane.ordinal();
+        long wait = predictedWaitNanos(lane);
+        if (wait > sloNanos[l] || queued[0].get() + queued[1].get() >= queueCapacity) {
+            rejected[l].increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait - sloNanos[l]) + 1);
+            throw new Rejected("Service d'alignement saturé, réessayer dans " + retryAfter + " s.", retryAfter);
+        }
+
+        Task task = new Task(lane, Math.max(1, cells), work);
+        queuedCells[l].addAndGet(task.cells);
+        queued[l].incrementAndGet();
+        executor.execute(task);
+
+        try {
+            return (T) task.get();
+        } catch (InterruptedException e) {
+            task.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Alignement interrompu.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Échec de l'alignement.", e.getCause());
+        }
+    }
+
+    long predictedWaitNanos(Lane lane) {
+        long ahead = queuedCells[Lane.INTERACTIVE.ordinal()].get();
+        if (lane == Lane.BATCH) ahead += queuedCells[Lane.BATCH.ordinal()].get();
+        // les tâches en cours sont en moyenne à mi-parcours
+        ahead += runningCells.get() / 2;
+        return (long) (ahead / (cellsPerSecond * threads) * 1e9);
+    }
+
+    private synchronized void observe(long cells, long nanos) {
+        if (cells < MIN_SAMPLE_CELLS || nanos <= 0) return;
+        cellsPerSecond = 0.9 * cellsPerSecond + 0.1 * (cells * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.algobio.alignment.service;
+
+import com.example.algobio.alignment.algorithm.Progress;
+import com.example.algobio.alignment.dto.AlignmentJobRequest;
+import com.example.algobio.alignment.dto.AlignmentJobState;
+import com.example.algobio.alignment.dto.AlignmentJobStatus;
+import com.example.algobio.alignment.dto.AlignmentResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ------------------------------------------------------
+// Jobs d'alignement asynchrones (grandes paires)
+// ------------------------------------------------------
+// POST rend un identifiant tout de suite ; le calcul tourne sur un pool dédié et borné
+// (threads + file), hors des threads Tomcat. Chaque job a un Progress : avancement en
+// lignes DP, annulation, budget de temps (compté au démarrage) et de cellules.
+// Les jobs terminés restent consultables retention-ms, en mémoire (perdus au redémarrage ;
+// le résultat, lui, est persisté comme pour POST /api/alignment).
+@Service
+public class AlignmentJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlignmentJobService.class);
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final AlignmentJobRequest request;
+        final long maxCells;
+        final long maxSeconds;
+        final LocalDateTime createdAt = LocalDateTime.now();
+
+        // transitions sous synchronized (job) ; lectures libres pour le statut
+        volatile AlignmentJobState state = AlignmentJobState.PENDING;
+        volatile Progress progress;
+        volatile Future<?> future;
+        volatile AlignmentResponse result;
+        volatile String error;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+
+        Job(AlignmentJobRequest request, long maxCells, long maxSeconds) {
+            this.request = request;
+            this.maxCells = maxCells;
+            this.maxSeconds = maxSeconds;
+        }
+
+        boolean isFinished() {
+            return state != AlignmentJobState.PENDING && state != AlignmentJobState.RUNNING;
+        }
+    }
+
+    private final AlignmentService service;
+    private final ThreadPoolExecutor executor;
+    private final long maxSeconds;
+    private final long maxCells;
+    private final long retentionMs;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public AlignmentJobService(
+            AlignmentService service,
+            @Value("${alignment.jobs.threads:2}") int threads,
+            @Value("${alignment.jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${alignment.jobs.max-seconds:600}") long maxSeconds,
+            @Value("${alignment.jobs.max-cells:40000000000}") long maxCells,
+            @Value("${alignment.jobs.retention-ms:3600000}") long retentionMs
+    ) {
+        this.service = service;
+        this.maxSeconds = maxSeconds;
+        this.maxCells = maxCells;
+        this.retentionMs = retentionMs;
+
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "alignment-job-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        for (Job job : jobs.values()) cancel(job);
+    }
+
+    public AlignmentJobStatus submit(AlignmentJobRequest req) {
+        purge();
+
+        // mêmes erreurs de validation que l'appel synchrone, avant la mise en file
+        long cells = service.expectedCells(req.getSeq1(), req.getSeq2(), req.getAlgorithm(), req.getMaxEdits());
+        long cellBudget = req.getMaxCells() == null ? maxCells : Math.min(req.getMaxCells(), maxCells);
+        long timeBudget = req.getMaxSeconds() == null ? maxSeconds : Math.min(req.getMaxSeconds(), maxSeconds);
+        if (cells > cellBudget) {
+            throw new IllegalArgumentException(
+                    "Calcul trop grand pour le budget du job (" + cells + " > " + cellBudget + " cellules).");
+        }
+
+        Job job = new Job(req, cellBudget, timeBudget);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new IllegalStateException("File des jobs pleine, réessayer plus tard.");
+        }
+        return status(job);
+    }
+
+    public AlignmentJobStatus get(String id) {
+        Job job = jobs.get(id);
+        return job == null ? null : status(job);
+    }
+
+    public AlignmentJobStatus cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) return null;
+        cancel(job);
+        return status(job);
+    }
+
+    private void cancel(Job job) {
+        synchronized (job) {
+            if (job.state == AlignmentJobState.PENDING) {
+                finish(job, AlignmentJobState.CANCELLED, null, Progress.CANCELLED_REASON);
+                if (job.future != null) job.future.cancel(false);
+            } else if (job.state == AlignmentJobState.RUNNING) {
+                // le noyau s'arrête à la ligne DP suivante
+                job.progress.cancel();
+            }
+        }
+    }
+
+    private void run(Job job) {
+        Progress progress = new Progress(job.maxCells, TimeUnit.SECONDS.toNanos(job.maxSeconds));
+        synchronized (job) {
+            if (job.state != AlignmentJobState.PENDING) return; // annulé dans la file
+            job.progress = progress;
+            job.startedAt = LocalDateTime.now();
+            job.state = AlignmentJobState.RUNNING;
+        }
+
+        AlignmentJobRequest req = job.request;
+        try {
+            AlignmentResponse res = service.align(req.getSeq1(), req.getSeq2(), req.getAlgorithm(),
+                    req.getMaxEdits(), req.getMinIdentity(), progress);
+            synchronized (job) {
+                finish(job, AlignmentJobState.SUCCEEDED, res, null);
+            }
+        } catch (RuntimeException e) {
+            // arrêt demandé par Progress : l'exception a pu être recopiée par le pool, on relit la raison
+            String reason = progress.reason();
+            synchronized (job) {
+                if (reason != null) {
+                    finish(job, progress.isCancelled() ? AlignmentJobState.CANCELLED : AlignmentJobState.FAILED,
+                            null, reason);
+                } else if (e instanceof IllegalArgumentException) {
+                    finish(job, AlignmentJobState.FAILED, null, e.getMessage());
+                } else {
+                    log.error("Échec du job d'alignement {}", job.id, e);
+                    finish(job, AlignmentJobState.FAILED, null, "Erreur interne pendant l'alignement.");
+                }
+            }
+        } catch (Error e) {
+            // OutOfMemoryError, StackOverflowError... : le job doit quand même atteindre un état
+            // final, sinon il reste RUNNING et purge() ne le retire jamais
+            log.error("Échec du job d'alignement {}", job.id, e);
+            synchronized (job) {
+                finish(job, AlignmentJobState.FAILED, null, "Erreur interne pendant l'alignement.");
+            }
+            throw e;
+        }
+    }
+
+    private void finish(Job job, AlignmentJobState state, AlignmentResponse result, String error) {
+        job.result = result;
+        job.error = error;
+        job.finishedAt = LocalDateTime.now();
+        job.state = state;
+    }
+
+    private AlignmentJobStatus status(Job job) {
+        AlignmentJobState state = job.state;
+        Progress p = job.progress;
+        double progress = state == AlignmentJobState.SUCCEEDED ? 1.0 : p == null ? 0.0 : p.fraction();
+        return new AlignmentJobStatus(job.id, state, progress,
+                state == AlignmentJobState.SUCCEEDED ? job.result : null,
+                job.error, job.createdAt, job.startedAt, job.finishedAt);
+    }
+
+    // les jobs terminés depuis plus de retention-ms sont oubliés
+    private void purge() {
+        LocalDateTime limit = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(retentionMs));
+        jobs.values().removeIf(j -> j.isFinished() && j.finishedAt.isBefore(limit));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.algobio.alignment.service;
+
+import com.example.algobio.alignment.dto.AlignmentAlgorithm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// ------------------------------------------------------
+// Métriques par phase des alignements (Micrometer -> /actuator/prometheus)
+// ------------------------------------------------------
+//   alignment.phase{phase, algorithm, length}        timer + histogramme :
+//       clean (nettoyage, validation, précalculs), fill (remplissage DP), traceback,
+//       identity, persist (encodage CIGAR + mise en file d'écriture)
+//   alignment.gcups{algorithm, length}               milliards de cellules / s du remplissage, par requête
+//   alignment.dp.cells{algorithm, length}            compteur de cellules (n x m) : GCUPS agrégé =
+//       rate(alignment_dp_cells_total) / rate(alignment_phase_seconds_sum{phase="fill"}) / 1e9
+//   alignment.matrix.bytes{algorithm, length}        plus grosse allocation DP de la requête
+// length = plus grande des deux longueurs, par tranche (cardinalité bornée).
+@Component
+public class AlignmentMetrics {
+
+    public enum Phase { CLEAN, FILL, TRACEBACK, IDENTITY, PERSIST }
+
+    private static final String[] BUCKETS = { "le100", "le1k", "le10k", "le100k", "gt100k" };
+
+    private record Key(String name, String phase, AlignmentAlgorithm algorithm, String length) {}
+
+    private final MeterRegistry registry;
+    private final Map<Key, Object> meters = new ConcurrentHashMap<>();
+
+    public AlignmentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static String lengthBucket(int n, int m) {
+        int len = Math.max(n, m);
+        if (len <= 100) return BUCKETS[0];
+        if (len <= 1_000) return BUCKETS[1];
+        if (len <= 10_000) return BUCKETS[2];
+        if (len <= 100_000) return BUCKETS[3];
+        return BUCKETS[4];
+    }
+
+    public void phase(Phase phase, AlignmentAlgorithm algo, String length, long nanos) {
+        timer(phase, algo, length).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // remplissage + traceback d'un noyau ; fillNanos = 0 si le noyau n'a pas marqué sa fin de remplissage
+    public void dp(AlignmentAlgorithm algo, int n, int m, long fillNanos, long tracebackNanos, long matrixBytes) {
+        String length = lengthBucket(n, m);
+        long cells = (long) n * m;
+
+        phase(Phase.FILL, algo, length, fillNanos);
+        if (algo != AlignmentAlgorithm.EDIT_DISTANCE) phase(Phase.TRACEBACK, algo, length, tracebackNanos);
+
+        ((Counter) meters.computeIfAbsent(new Key("alignment.dp.cells", null, algo, length), k ->
+                Counter.builder(k.name())
+                        .baseUnit("cells")
+                        .tag("algorithm", algo.name())
+                        .tag("length", length)
+                        .register(registry)
+        )).increment(cells);
+
+        if (fillNanos > 0) {
+            summary("alignment.gcups", algo, length, null).record(cells / (double) fillNanos);
+        }
+        if (matrixBytes > 0) {
+            summary("alignment.matrix.bytes", algo, length, "bytes").record(matrixBytes);
+        }
+    }
+
+    private Timer timer(Phase phase, AlignmentAlgorithm algo, String length) {
+        String p = phase.name().toLowerCase();
+        return (Timer) meters.computeIfAbsent(new Key("alignment.phase", p, algo, length), k ->
+                Timer.builder(k.name())
+                        .tag("phase", p)
+                        .tag("algorithm", algo.name())
+                        .tag("length", length)
+                        .publishPercentileHistogram()
+                        .register(registry)
+        );
+    }
+
+    private DistributionSummary summary(String name, AlignmentAlgorithm algo, String length, String unit) {
+        return (DistributionSummary) meters.computeIfAbsent(new Key(name, null, algo, length), k -> {
+            DistributionSummary.Builder b = DistributionSummary.builder(name)
+                    .tag("algorithm", algo.name())
+                    .tag("length", length)
+                    .publishPercentileHistogram();
+            if (unit != null) b = b.baseUnit(unit);
+            return b.register(registry);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.algobio.alignment.service;
+
+import com.example.algobio.alignment.dto.AlignmentAlgorithm;
+import com.example.algobio.alignment.dto.AlignmentResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// ------------------------------------------------------
+// Cache des résultats, adressé par contenu
+// ------------------------------------------------------
+// Clé = SHA-256(algorithme, seq1, seq2) sur les séquences nettoyées ; la même clé est
+// stockée dans alignment_results.content_hash pour le repli sur la base.
+// Caffeine (W-TinyLFU) borné en caractères stockés. Les requêtes identiques concurrentes
+// partagent le même future : un seul calcul, les autres attendent son résultat.
+// Métriques : cache.gets / cache.evictions (tag cache=alignment.results) + alignment.cache.db.hits.
+@Component
+public class AlignmentResultCache {
+
+    // en-tête objet + clé hex, en caractères
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final AsyncCache<String, AlignmentResponse> cache;
+    private final Counter storeHits;
+
+    public AlignmentResultCache(
+            MeterRegistry registry,
+            @Value("${alignment.cache.enabled:true}") boolean enabled,
+            @Value("${alignment.cache.max-chars:100000000}") long maxChars
+    ) {
+        this.storeHits = registry.counter("alignment.cache.db.hits");
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxChars)
+                .weigher((String key, AlignmentResponse res) -> weight(res))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "alignment.results");
+    }
+
+    public static String key(String seq1, String seq2, AlignmentAlgorithm algo) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(algo.name().getBytes(StandardCharsets.US_ASCII));
+            sha.update((byte) 0);
+            sha.update(seq1.getBytes(StandardCharsets.US_ASCII));
+            sha.update((byte) 0);
+            sha.update(seq2.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // loader : repli base puis calcul ; exécuté une seule fois par clé absente
+    public AlignmentResponse get(String key, Supplier<AlignmentResponse> loader) {
+        if (cache == null) return loader.get();
+
+        CompletableFuture<AlignmentResponse> mine = new CompletableFuture<>();
+        CompletableFuture<AlignmentResponse> shared = cache.get(key, (k, executor) -> mine);
+        if (shared == mine) {
+            try {
+                mine.complete(loader.get());
+            } catch (Throwable t) {
+                // Caffeine retire les futures en échec : le prochain appel recalcule.
+                // Error compris (OutOfMemoryError, StackOverflowError) : une future jamais
+                // terminée resterait dans le cache et bloquerait les suivants dans join()
+                mine.completeExceptionally(t);
+                throw t;
+            }
+        }
+
+        try {
+            return shared.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    // lecture sans attente ni chargement : null si absent ou encore en calcul
+    public AlignmentResponse getIfPresent(String key) {
+        if (cache == null) return null;
+        CompletableFuture<AlignmentResponse> f = cache.getIfPresent(key);
+        return f != null && f.isDone() && !f.isCompletedExceptionally() ? f.join() : null;
+    }
+
+    public void put(String key, AlignmentResponse res) {
+        if (cache != null) cache.put(key, CompletableFuture.completedFuture(res));
+    }
+
+    public void storeHit() {
+        storeHits.increment();
+    }
+
+    private static int weight(AlignmentResponse res) {
+        long chars = ENTRY_OVERHEAD + (long) res.getAlignedSeq1().length() + res.getAlignedSeq2().length();
+        return (int) Math.min(Integer.MAX_VALUE, chars);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.algobio.alignment.service;
+
+import com.example.algobio.alignment.entity.AlignmentResult;
+import com.example.algobio.alignment.repository.AlignmentResultBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// ------------------------------------------------------
+// Persistance asynchrone (write-behind) des AlignmentResult
+// ------------------------------------------------------
+// Les requêtes déposent leurs lignes dans une file bornée ; un thread unique la vide par
+// lots JDBC (flush-size lignes, ou flush-interval-ms après la première ligne du lot).
+// File pleine : le producteur attend enqueue-timeout-ms puis écrit lui-même (il ralentit
+// au lieu de perdre la ligne). À l'arrêt, la file est vidée avant la fermeture de la base.
+// Un lot en échec est journalisé et compté (résultats recalculables), pas rejoué.
+@Component
+public class AlignmentResultWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AlignmentResultWriter.class);
+
+    private final AlignmentResultBatchRepository batchRepo;
+    private final AlignmentStatsRollup stats;
+    private final BlockingQueue<AlignmentResult> queue;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+    private final Counter failedRows;
+    private final Timer batchTimer;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public AlignmentResultWriter(
+            AlignmentResultBatchRepository batchRepo,
+            AlignmentStatsRollup stats,
+            MeterRegistry registry,
+            @Value("${alignment.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${alignment.writer.flush-size:500}") int flushSize,
+            @Value("${alignment.writer.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${alignment.writer.enqueue-timeout-ms:50}") long enqueueTimeoutMs
+    ) {
+        this.batchRepo = batchRepo;
+        this.stats = stats;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.failedRows = registry.counter("alignment.writer.failed.rows");
+        // durée réelle des écritures (la phase persist des requêtes ne mesure que la mise en file)
+        this.batchTimer = Timer.builder("alignment.writer.batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        registry.gauge("alignment.writer.queue.size", queue, BlockingQueue::size);
+        this.worker = new Thread(this::run, "alignment-result-writer");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    public void enqueue(AlignmentResult row) {
+        if (!offer(row)) write(List.of(row));
+    }
+
+    public void enqueueAll(List<AlignmentResult> rows) {
+        List<AlignmentResult> overflow = new ArrayList<>();
+        for (AlignmentResult row : rows) {
+            if (!offer(row)) overflow.add(row);
+        }
+        if (!overflow.isEmpty()) write(overflow);
+    }
+
+    private boolean offer(AlignmentResult row) {
+        if (!running) return false;
+        try {
+            return queue.offer(row, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<AlignmentResult> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AlignmentResult first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // complète le lot jusqu'à flushSize, au plus flushIntervalMs après la première ligne
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < flushSize) {
+                    if (queue.drainTo(batch, flushSize - batch.size()) > 0) continue;
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) break;
+                    AlignmentResult next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AlignmentResult> rows) {
+        if (rows.isEmpty()) return;
+        long start = System.nanoTime();
+        try {
+            batchRepo.insertAll(rows);
+        } catch (RuntimeException e) {
+            failedRows.increment(rows.size());
+            log.error("Échec de l'écriture de {} résultats d'alignement", rows.size(), e);
+            return;
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        // seules les lignes effectivement écrites entrent dans les statistiques
+        for (AlignmentResult row : rows) stats.record(row);
+    }
+
+    @PreDestroy
+    void drain() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+
+        // le thread a fini (ou n'a pas tenu le délai) : on écrit ce qui reste ici
+        List<AlignmentResult> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += flushSize) {
+            write(rest.subList(from, Math.min(rest.size(), from + flushSize)));
+        }
+    }
+}
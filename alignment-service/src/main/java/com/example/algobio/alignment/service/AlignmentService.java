@@ -1,200 +1,568 @@
 package com.example.algobio.alignment.service;
 
+import com.example.algobio.alignment.algorithm.Alignment;
+import com.example.algobio.alignment.algorithm.BandedNeedlemanWunsch;
+import com.example.algobio.alignment.algorithm.Hirschberg;
+import com.example.algobio.alignment.algorithm.MyersEditDistance;
+import com.example.algobio.alignment.algorithm.NeedlemanWunsch;
+import com.example.algobio.alignment.algorithm.Progress;
+import com.example.algobio.alignment.algorithm.ScoreOnly;
+import com.example.algobio.alignment.algorithm.SimdSupport;
+import com.example.algobio.alignment.algorithm.SmithWaterman;
+import com.example.algobio.alignment.algorithm.StripedSmithWaterman;
+import com.example.algobio.alignment.algorithm.Wavefront;
+import com.example.algobio.alignment.client.SequenceClient;
+import com.example.algobio.alignment.client.dto.SequenceDto;
 import com.example.algobio.alignment.dto.AlignmentAlgorithm;
 import com.example.algobio.alignment.dto.AlignmentResponse;
+import com.example.algobio.alignment.dto.AlignmentScoreResponse;
+import com.example.algobio.alignment.dto.BatchAlignmentItem;
+import com.example.algobio.alignment.dto.BatchAlignmentRequest;
 import com.example.algobio.alignment.entity.AlignmentResult;
 import com.example.algobio.alignment.repository.AlignmentResultRepository;
+import com.example.algobio.common.dna.PackedDna;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.client.RestClientException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 @Service
 public class AlignmentService {
 
     private final AlignmentResultRepository repo;
-
-    public AlignmentService(AlignmentResultRepository repo) {
+    private final AlignmentResultWriter writer;
+    private final AlignmentResultCache cache;
+    private final AlignmentMetrics metrics;
+    private final SequenceClient sequenceClient;
+
+    // au-delà de ce nombre de cellules, NW passe en mémoire linéaire (Hirschberg)
+    private final long linearMemoryThresholdCells;
+    private final int maxGlobalLength;
+    private final int maxLocalLength;
+    private final boolean simd;
+
+    // pool borné partagé par les lots (/batch) et le front d'onde des grandes paires
+    private final ForkJoinPool pool;
+    private final int maxBatchTargets;
+    private final boolean wavefront;
+    // SW : la fenêtre est réalignée après la passe avant, donc le front d'onde ne paie
+    // qu'à partir de ce nombre de threads (face au noyau strié ou scalaire mono-thread)
+    private final int swWavefrontMinParallelism;
+
+    // appels HTTP à sequence-service (cibles /batch, matrice, MSA) : threads virtuels, au plus
+    // fetchConcurrency en vol, jamais sur le pool de calcul (dimensionné pour le CPU)
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore fetchPermits;
+
+    // précalculs ne dépendant que de seq2, partagés par toutes les cibles d'un lot
+    private record Prepared(PackedDna seq, MyersEditDistance.Pattern pattern, StripedSmithWaterman.Profile profile) {}
+
+    private record Outcome(BatchAlignmentItem item, AlignmentResult row) {}
+
+    // début commun des deux chemins d'align() ; filtered non null : paire écartée par le
+    // préfiltre minIdentity (key est alors null)
+    private record PairRequest(PackedDna seq1, Prepared q, String length, String key, AlignmentResponse filtered) {}
+
+    public AlignmentService(
+            AlignmentResultRepository repo,
+            AlignmentResultWriter writer,
+            AlignmentResultCache cache,
+            AlignmentMetrics metrics,
+            SequenceClient sequenceClient,
+            @Value("${alignment.linear-memory.threshold-cells:4000000}") long linearMemoryThresholdCells,
+            @Value("${alignment.max-length.global:200000}") int maxGlobalLength,
+            @Value("${alignment.max-length.local:10000}") int maxLocalLength,
+            @Value("${alignment.simd.enabled:true}") boolean simdEnabled,
+            @Value("${alignment.parallelism:0}") int parallelism,
+            @Value("${alignment.batch.max-targets:5000}") int maxBatchTargets,
+            @Value("${alignment.wavefront.enabled:true}") boolean wavefront,
+            @Value("${alignment.wavefront.sw-min-parallelism:8}") int swWavefrontMinParallelism,
+            @Value("${alignment.fetch.concurrency:32}") int fetchConcurrency
+    ) {
         this.repo = repo;
+        this.writer = writer;
+        this.cache = cache;
+        this.metrics = metrics;
+        this.sequenceClient = sequenceClient;
+        this.linearMemoryThresholdCells = linearMemoryThresholdCells;
+        this.maxGlobalLength = maxGlobalLength;
+        this.maxLocalLength = maxLocalLength;
+        this.simd = simdEnabled && SimdSupport.isAvailable();
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxBatchTargets = maxBatchTargets;
+        this.wavefront = wavefront;
+        this.swWavefrontMinParallelism = swWavefrontMinParallelism;
+        this.fetchPermits = new Semaphore(Math.max(1, fetchConcurrency));
     }
 
-    private static final int MATCH = 1;
-    private static final int MISMATCH = -1;
-    private static final int GAP = -2;
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+        fetchExecutor.shutdownNow();
+    }
 
     public AlignmentResponse align(String s1, String s2, AlignmentAlgorithm algo) {
-        String seq1 = cleanDNA(s1);
-        String seq2 = cleanDNA(s2);
+        return align(s1, s2, algo, null, null);
+    }
 
-        if (seq1.length() > 10000 || seq2.length() > 10000) {
-            throw new IllegalArgumentException("Séquences trop longues (max 10000).");
-        }
+    // maxEdits : nombre de modifications attendues entre les deux séquences (NW en bande)
+    // minIdentity : préfiltre Myers, la paire est écartée si l'identité NW ne peut pas l'atteindre
+    public AlignmentResponse align(String s1, String s2, AlignmentAlgorithm algo, Integer maxEdits, Double minIdentity) {
+        PairRequest p = pairRequest(s1, s2, algo, minIdentity);
+        if (p.filtered() != null) return p.filtered();
+
+        PackedDna seq1 = p.seq1(), seq2 = p.q().seq();
+        return cache.get(p.key(), () -> {
+            AlignmentResponse stored = findStored(p.key(), seq1, seq2, algo);
+            if (stored != null) return stored;
+
+            AlignmentResponse res = compute(seq1, p.q(), algo, maxEdits, null, wavefront ? pool : null, Progress.NONE);
+            persist(seq1, seq2, algo, res, p.length());
+            return res;
+        });
+    }
 
-        AlignmentResponse res = (algo == AlignmentAlgorithm.NEEDLEMAN_WUNSCH)
-                ? needlemanWunsch(seq1, seq2)
-                : smithWaterman(seq1, seq2);
+    // ------------------------
+    // Job asynchrone : même chemin que align(), avec suivi d'avancement
+    // ------------------------
+    // Pas de partage single-flight : un job annulé ne doit pas faire échouer les requêtes
+    // synchrones qui attendraient le même calcul. Le résultat est publié dans le cache après coup.
+    public AlignmentResponse align(String s1, String s2, AlignmentAlgorithm algo, Integer maxEdits, Double minIdentity,
+                                   Progress progress) {
+        PairRequest p = pairRequest(s1, s2, algo, minIdentity);
+        if (p.filtered() != null) return p.filtered();
+
+        PackedDna seq1 = p.seq1(), seq2 = p.q().seq();
+        AlignmentResponse res = cache.getIfPresent(p.key());
+        if (res == null) res = findStored(p.key(), seq1, seq2, algo);
+        if (res != null) return res;
+
+        res = compute(seq1, p.q(), algo, maxEdits, null, wavefront ? pool : null, progress);
+        persist(seq1, seq2, algo, res, p.length());
+        cache.put(p.key(), res);
+        return res;
+    }
 
-        AlignmentResult ar = new AlignmentResult();
-        ar.setSequence1(seq1);
-        ar.setSequence2(seq2);
-        ar.setAlgorithm(algo.name());
-        ar.setAligned1(res.getAlignedSeq1());
-        ar.setAligned2(res.getAlignedSeq2());
-        ar.setScore(res.getScore());
-        ar.setIdentityPercent(res.getIdentityPercent());
-        repo.save(ar);
+    // nettoyage, limites, précalculs de seq2, métrique CLEAN, préfiltre puis clé de cache.
+    // Le préfiltre dépend de minIdentity : il passe avant le cache, qui ne garde que des résultats complets.
+    private PairRequest pairRequest(String s1, String s2, AlignmentAlgorithm algo, Double minIdentity) {
+        long start = System.nanoTime();
+        PackedDna seq1 = cleanDNA(s1);
+        PackedDna seq2 = cleanDNA(s2);
+        checkLength(seq1, seq2, algo);
+
+        Prepared q = prepare(seq2, algo, minIdentity);
+        String length = AlignmentMetrics.lengthBucket(seq1.length(), seq2.length());
+        metrics.phase(AlignmentMetrics.Phase.CLEAN, algo, length, System.nanoTime() - start);
+
+        Integer d = belowIdentity(seq1, q, algo, minIdentity);
+        if (d != null) return new PairRequest(seq1, q, length, null, AlignmentResponse.filtered(d));
+        return new PairRequest(seq1, q, length, AlignmentResultCache.key(seq1.toString(), seq2.toString(), algo), null);
+    }
 
-        return res;
+    // validation à la soumission d'un job : travail DP du chemin que compute() prendra,
+    // le même compte que Progress (expect et budget de cellules)
+    public long expectedCells(String s1, String s2, AlignmentAlgorithm algo, Integer maxEdits) {
+        PackedDna seq1 = cleanDNA(s1);
+        PackedDna seq2 = cleanDNA(s2);
+        checkLength(seq1, seq2, algo);
+        return expectedCells(seq1, seq2, algo, maxEdits, wavefront ? pool : null);
     }
 
-    private String cleanDNA(String s) {
-        String seq = s.replaceAll("\\s+", "").toUpperCase();
-        if (!seq.matches("[ATCG]+")) {
-            throw new IllegalArgumentException("Séquence invalide: uniquement A,T,C,G.");
+    // repli sur alignment_results : même clé, séquences revérifiées
+    private AlignmentResponse findStored(String key, PackedDna seq1, PackedDna seq2, AlignmentAlgorithm algo) {
+        AlignmentResult ar = repo.findFirstByContentHashOrderByIdDesc(key).orElse(null);
+        if (ar == null
+                || !ar.getAlgorithm().equals(algo.name())
+                || !ar.getSequence1().equals(seq1.toString())
+                || !ar.getSequence2().equals(seq2.toString())) {
+            return null;
         }
-        return seq;
+        cache.storeHit();
+        return algo == AlignmentAlgorithm.EDIT_DISTANCE
+                ? AlignmentResponse.editDistance(ar.getScore(), ar.getIdentityPercent())
+                : new AlignmentResponse(ar.getAligned1(), ar.getAligned2(), ar.getScore(), ar.getIdentityPercent(),
+                        ar.getAlignStart1(), ar.getAlignStart2());
     }
 
     // ------------------------
-    // Needleman–Wunsch (global)
+    // Lot : une requête contre N cibles
     // ------------------------
-    private AlignmentResponse needlemanWunsch(String a, String b) {
-        int n = a.length(), m = b.length();
-        int[][] dp = new int[n + 1][m + 1];
-        char[][] trace = new char[n + 1][m + 1]; // D, U, L
+    // Chaque cible devient seq1 et la requête seq2 ; les cibles invalides donnent une
+    // erreur dans leur élément sans faire échouer le lot. Persistance par lots JDBC (write-behind).
+    public List<BatchAlignmentItem> alignBatch(BatchAlignmentRequest req) {
+        String rawQuery = req.getQuerySequenceId() != null
+                ? fetchSequence(req.getQuerySequenceId())
+                : req.getQuery();
+        if (rawQuery == null || rawQuery.isBlank()) {
+            throw new IllegalArgumentException("Tu dois fournir soit querySequenceId soit query.");
+        }
 
-        for (int i = 1; i <= n; i++) {
-            dp[i][0] = dp[i - 1][0] + GAP;
-            trace[i][0] = 'U';
+        List<String> targets = req.getTargets() == null ? List.of() : req.getTargets();
+        List<Long> targetIds = req.getTargetSequenceIds() == null ? List.of() : req.getTargetSequenceIds();
+        int total = targets.size() + targetIds.size();
+        if (total == 0) throw new IllegalArgumentException("Aucune cible.");
+        if (total > maxBatchTargets) throw new IllegalArgumentException("Trop de cibles (max " + maxBatchTargets + ").");
+
+        AlignmentAlgorithm algo = req.getAlgorithm();
+        Prepared query = prepare(cleanDNA(rawQuery), algo, req.getMinIdentity());
+
+        // cibles par id récupérées d'abord (hors du pool) : le pool ne reçoit que du calcul
+        List<CompletableFuture<String>> fetched = fetchAll(targetIds);
+
+        List<Callable<Outcome>> tasks = new ArrayList<>(total);
+        for (int k = 0; k < targets.size(); k++) {
+            int index = k;
+            CompletableFuture<String> target = CompletableFuture.completedFuture(targets.get(k));
+            tasks.add(() -> alignTarget(index, null, target, query, algo, req.getMaxEdits(), req.getMinIdentity()));
         }
-        for (int j = 1; j <= m; j++) {
-            dp[0][j] = dp[0][j - 1] + GAP;
-            trace[0][j] = 'L';
+        for (int k = 0; k < targetIds.size(); k++) {
+            int index = targets.size() + k;
+            Long id = targetIds.get(k);
+            CompletableFuture<String> target = fetched.get(k);
+            tasks.add(() -> alignTarget(index, id, target, query, algo, req.getMaxEdits(), req.getMinIdentity()));
         }
 
-        for (int i = 1; i <= n; i++) {
-            for (int j = 1; j <= m; j++) {
-                int diag = dp[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? MATCH : MISMATCH);
-                int up = dp[i - 1][j] + GAP;
-                int left = dp[i][j - 1] + GAP;
+        List<BatchAlignmentItem> items = new ArrayList<>(total);
+        List<AlignmentResult> rows = new ArrayList<>(total);
+        for (Outcome o : runAll(tasks)) {
+            items.add(o.item());
+            if (o.row() != null) rows.add(o.row());
+        }
+        long start = System.nanoTime();
+        writer.enqueueAll(rows);
+        metrics.phase(AlignmentMetrics.Phase.PERSIST, algo,
+                AlignmentMetrics.lengthBucket(query.seq().length(), 0), System.nanoTime() - start);
+        return items;
+    }
 
-                int best = diag;
-                char t = 'D';
-                if (up > best) { best = up; t = 'U'; }
-                if (left > best) { best = left; t = 'L'; }
+    // source : séquence brute déjà disponible (en ligne, ou récupérée par fetchAll)
+    private Outcome alignTarget(int index, Long id, CompletableFuture<String> source, Prepared query,
+                                AlignmentAlgorithm algo, Integer maxEdits, Double minIdentity) {
+        try {
+            PackedDna target = cleanDNA(raw(source));
+            // les cibles tournent déjà en parallèle : pas de front d'onde imbriqué
+            AlignmentResponse res = compute(target, query, algo, maxEdits, minIdentity, null, Progress.NONE);
+            AlignmentResult row = res.isFiltered() ? null : toEntity(target, query.seq(), algo, res);
+            return new Outcome(new BatchAlignmentItem(index, id, res, null), row);
+        } catch (IllegalArgumentException e) {
+            return new Outcome(new BatchAlignmentItem(index, id, null, e.getMessage()), null);
+        }
+    }
 
-                dp[i][j] = best;
-                trace[i][j] = t;
-            }
+    private <T> List<T> runAll(List<Callable<T>> tasks) {
+        try {
+            List<T> out = new ArrayList<>(tasks.size());
+            for (Future<T> f : pool.invokeAll(tasks)) out.add(f.get());
+            return out;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lot interrompu.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException iae) throw iae;
+            throw new IllegalStateException("Échec du lot.", e.getCause());
         }
+    }
 
-        StringBuilder alA = new StringBuilder();
-        StringBuilder alB = new StringBuilder();
-        int i = n, j = m;
-
-        while (i > 0 || j > 0) {
-            if (i > 0 && j > 0 && trace[i][j] == 'D') {
-                alA.append(a.charAt(i - 1));
-                alB.append(b.charAt(j - 1));
-                i--; j--;
-            } else if (i > 0 && (j == 0 || trace[i][j] == 'U')) {
-                alA.append(a.charAt(i - 1));
-                alB.append('-');
-                i--;
-            } else {
-                alA.append('-');
-                alB.append(b.charAt(j - 1));
-                j--;
+    // Récupère les séquences par id sur fetchExecutor et attend la fin de tous les appels,
+    // sur le thread appelant : les futures rendues sont terminées, raw() ne bloque plus.
+    // Une séquence introuvable reste en échec dans sa future (IllegalArgumentException).
+    private List<CompletableFuture<String>> fetchAll(List<Long> ids) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(ids.size());
+        for (Long id : ids) futures.add(CompletableFuture.supplyAsync(() -> fetchBounded(id), fetchExecutor));
+        try {
+            for (CompletableFuture<String> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    // relue par raw() au moment d'aligner cette séquence
+                }
             }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Récupération des séquences interrompue.", e);
         }
+        return futures;
+    }
 
-        alA.reverse();
-        alB.reverse();
+    private String fetchBounded(Long id) {
+        try {
+            fetchPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Récupération des séquences interrompue.", e);
+        }
+        try {
+            return fetchSequence(id);
+        } finally {
+            fetchPermits.release();
+        }
+    }
 
-        double identity = identityPercent(alA.toString(), alB.toString());
-        return new AlignmentResponse(alA.toString(), alB.toString(), dp[n][m], identity);
+    private static String raw(CompletableFuture<String> source) {
+        try {
+            return source.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
     }
 
-    // ----------------------------------------
-    // Smith–Waterman (local) = BLAST simplifié
-    // ----------------------------------------
-    private AlignmentResponse smithWaterman(String a, String b) {
-        int n = a.length(), m = b.length();
-        int[][] dp = new int[n + 1][m + 1];
-        char[][] trace = new char[n + 1][m + 1]; // D, U, L, Z
-
-        int bestScore = 0;
-        int bestI = 0, bestJ = 0;
-
-        for (int i = 1; i <= n; i++) {
-            for (int j = 1; j <= m; j++) {
-                int diag = dp[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? MATCH : MISMATCH);
-                int up = dp[i - 1][j] + GAP;
-                int left = dp[i][j - 1] + GAP;
-
-                int best = 0;
-                char t = 'Z';
-                if (diag > best) { best = diag; t = 'D'; }
-                if (up > best) { best = up; t = 'U'; }
-                if (left > best) { best = left; t = 'L'; }
-
-                dp[i][j] = best;
-                trace[i][j] = t;
-
-                if (best > bestScore) {
-                    bestScore = best;
-                    bestI = i; bestJ = j;
-                }
-            }
+    private String fetchSequence(Long id) {
+        SequenceDto s;
+        try {
+            s = sequenceClient.getById(id);
+        } catch (RestClientException e) {
+            s = null;
+        }
+        if (s == null || s.getSequence() == null) {
+            throw new IllegalArgumentException("Sequence introuvable (id=" + id + ")");
         }
+        return s.getSequence();
+    }
+
+    // score + identité seulement : deux lignes DP, pas de traceback ni de persistance
+    public AlignmentScoreResponse score(String s1, String s2, AlignmentAlgorithm algo, Double minIdentity) {
+        PackedDna seq1 = cleanDNA(s1);
+        PackedDna seq2 = cleanDNA(s2);
 
-        StringBuilder alA = new StringBuilder();
-        StringBuilder alB = new StringBuilder();
-        int i = bestI, j = bestJ;
-
-        while (i > 0 && j > 0 && dp[i][j] > 0) {
-            char t = trace[i][j];
-            if (t == 'D') {
-                alA.append(a.charAt(i - 1));
-                alB.append(b.charAt(j - 1));
-                i--; j--;
-            } else if (t == 'U') {
-                alA.append(a.charAt(i - 1));
-                alB.append('-');
-                i--;
-            } else if (t == 'L') {
-                alA.append('-');
-                alB.append(b.charAt(j - 1));
-                j--;
-            } else {
-                break;
+        if (seq1.length() > maxGlobalLength || seq2.length() > maxGlobalLength) {
+            throw new IllegalArgumentException("Séquences trop longues (max " + maxGlobalLength + ").");
+        }
+
+        Prepared q = prepare(seq2, algo, minIdentity);
+        if (belowIdentity(seq1, q, algo, minIdentity) != null) {
+            return AlignmentScoreResponse.filtered();
+        }
+        return scoreOnly(seq1, q, algo);
+    }
+
+    // ------------------------
+    // Ensembles de séquences (matrice de distances, MSA) : score seul, sans cache ni persistance
+    // ------------------------
+    // séquences en ligne puis par id ; une séquence invalide fait échouer l'appel.
+    // Les ids sont récupérés en parallèle hors du pool (fetchAll), le pool ne fait que l'encodage.
+    List<PackedDna> sequences(List<String> inline, List<Long> ids) {
+        List<CompletableFuture<String>> fetched = fetchAll(ids);
+        List<Callable<PackedDna>> tasks = new ArrayList<>(inline.size() + ids.size());
+        for (String raw : inline) tasks.add(() -> resolveSequence(raw));
+        for (CompletableFuture<String> f : fetched) tasks.add(() -> resolveSequence(raw(f)));
+        return runAll(tasks);
+    }
+
+    private PackedDna resolveSequence(String raw) {
+        PackedDna seq = cleanDNA(raw);
+        if (seq.length() > maxGlobalLength) {
+            throw new IllegalArgumentException("Séquences trop longues (max " + maxGlobalLength + ").");
+        }
+        return seq;
+    }
+
+    // précalculs de seq2 (profil strié, Peq) faits une fois pour toute une ligne de la matrice
+    Function<PackedDna, AlignmentScoreResponse> scorer(PackedDna seq2, AlignmentAlgorithm algo) {
+        Prepared q = prepare(seq2, algo, null);
+        return seq1 -> scoreOnly(seq1, q, algo);
+    }
+
+    ForkJoinPool pool() {
+        return pool;
+    }
+
+    private AlignmentScoreResponse scoreOnly(PackedDna seq1, Prepared q, AlignmentAlgorithm algo) {
+        PackedDna seq2 = q.seq();
+        return switch (algo) {
+            case NEEDLEMAN_WUNSCH -> {
+                ScoreOnly.Result r = ScoreOnly.needlemanWunsch(seq1, seq2);
+                yield new AlignmentScoreResponse(r.score(), r.identityPercent());
             }
+            case BLAST_SIMPLIFIED -> {
+                ScoreOnly.Result r = simd
+                        ? StripedSmithWaterman.scoreOnly(seq1, q.profile())
+                        : ScoreOnly.smithWaterman(seq1, seq2);
+                yield new AlignmentScoreResponse(r.score(), r.identityPercent());
+            }
+            case EDIT_DISTANCE -> {
+                int d = MyersEditDistance.distance(q.pattern(), seq1);
+                yield new AlignmentScoreResponse(d, similarityPercent(seq1, seq2, d));
+            }
+        };
+    }
+
+    private Prepared prepare(PackedDna seq2, AlignmentAlgorithm algo, Double minIdentity) {
+        boolean myers = algo == AlignmentAlgorithm.EDIT_DISTANCE
+                || (minIdentity != null && algo == AlignmentAlgorithm.NEEDLEMAN_WUNSCH);
+        return new Prepared(
+                seq2,
+                myers ? MyersEditDistance.pattern(seq2) : null,
+                simd && algo == AlignmentAlgorithm.BLAST_SIMPLIFIED ? StripedSmithWaterman.profile(seq2) : null
+        );
+    }
+
+    // parallel : pool du front d'onde pour une grande paire, ou null
+    // progress : avancement / annulation d'un job ; Progress.NONE sinon (un suivi local sert aux métriques)
+    private AlignmentResponse compute(PackedDna seq1, Prepared q, AlignmentAlgorithm algo,
+                                      Integer maxEdits, Double minIdentity, ForkJoinPool parallel, Progress progress) {
+        PackedDna seq2 = q.seq();
+        checkLength(seq1, seq2, algo);
+        Progress p = progress == Progress.NONE ? Progress.unbounded() : progress;
+        p.expect(expectedCells(seq1, seq2, algo, maxEdits, parallel));
+
+        if (algo == AlignmentAlgorithm.EDIT_DISTANCE) {
+            // la distance d'édition est symétrique : le Peq de seq2 suffit
+            long start = System.nanoTime();
+            int d = MyersEditDistance.distance(q.pattern(), seq1, p);
+            metrics.dp(algo, seq1.length(), seq2.length(), System.nanoTime() - start, 0, p.peakMatrixBytes());
+            return AlignmentResponse.editDistance(d, similarityPercent(seq1, seq2, d));
+        }
+
+        Integer d = belowIdentity(seq1, q, algo, minIdentity);
+        if (d != null) return AlignmentResponse.filtered(d);
+
+        long start = System.nanoTime();
+        Alignment al = (algo == AlignmentAlgorithm.NEEDLEMAN_WUNSCH)
+                ? needlemanWunsch(seq1, seq2, maxEdits, parallel, p)
+                : smithWaterman(seq1, q, parallel, p);
+        long end = System.nanoTime();
+        double identity = al.identityPercent();
+        long identityEnd = System.nanoTime();
+
+        // fin du remplissage marquée par le noyau (SW de score nul : pas de traceback)
+        long fillEnd = p.fillEndNanos() == 0 ? end : Math.max(start, Math.min(end, p.fillEndNanos()));
+        metrics.dp(algo, seq1.length(), seq2.length(), fillEnd - start, end - fillEnd, p.peakMatrixBytes());
+        metrics.phase(AlignmentMetrics.Phase.IDENTITY, algo,
+                AlignmentMetrics.lengthBucket(seq1.length(), seq2.length()), identityEnd - end);
+
+        return new AlignmentResponse(
+                al.aligned1(), al.aligned2(), al.score(),
+                identity,
+                al.start1(), al.start2()
+        );
+    }
+
+    // encodage CIGAR + mise en file du writer (écriture synchrone si la file est pleine)
+    private void persist(PackedDna seq1, PackedDna seq2, AlignmentAlgorithm algo, AlignmentResponse res, String length) {
+        long start = System.nanoTime();
+        writer.enqueue(toEntity(seq1, seq2, algo, res));
+        metrics.phase(AlignmentMetrics.Phase.PERSIST, algo, length, System.nanoTime() - start);
+    }
+
+    private void checkLength(PackedDna seq1, PackedDna seq2, AlignmentAlgorithm algo) {
+        // SW garde la matrice complète : seul NW (et la distance d'édition) peut dépasser l'ancienne limite
+        int maxLength = (algo == AlignmentAlgorithm.BLAST_SIMPLIFIED) ? maxLocalLength : maxGlobalLength;
+        if (seq1.length() > maxLength || seq2.length() > maxLength) {
+            throw new IllegalArgumentException("Séquences trop longues (max " + maxLength + ").");
         }
+    }
 
-        alA.reverse();
-        alB.reverse();
+    private AlignmentResult toEntity(PackedDna seq1, PackedDna seq2, AlignmentAlgorithm algo, AlignmentResponse res) {
+        AlignmentResult ar = new AlignmentResult();
+        ar.setSequence1(seq1.toString());
+        ar.setSequence2(seq2.toString());
+        ar.setAlgorithm(algo.name());
+        ar.setAlignment(res.getAlignedSeq1(), res.getAlignedSeq2(), res.getAlignStart1(), res.getAlignStart2());
+        ar.setScore(res.getScore());
+        ar.setIdentityPercent(res.getIdentityPercent());
+        ar.setContentHash(AlignmentResultCache.key(ar.getSequence1(), ar.getSequence2(), algo));
+        return ar;
+    }
 
-        double identity = identityPercent(alA.toString(), alB.toString());
-        return new AlignmentResponse(alA.toString(), alB.toString(), bestScore, identity);
+    // Distance d'édition si la paire ne peut pas atteindre minIdentity en NW, sinon null.
+    // L'identité locale (SW) n'est pas bornée par la distance globale : pas de filtre.
+    private Integer belowIdentity(PackedDna a, Prepared b, AlignmentAlgorithm algo, Double minIdentity) {
+        if (minIdentity == null || algo != AlignmentAlgorithm.NEEDLEMAN_WUNSCH) return null;
+        int d = MyersEditDistance.distance(b.pattern(), a);
+        return MyersEditDistance.maxIdentityPercent(a.length(), b.seq().length(), d) < minIdentity ? d : null;
     }
 
-    private double identityPercent(String a, String b) {
-        int len = Math.min(a.length(), b.length());
-        if (len == 0) return 0.0;
+    private double similarityPercent(PackedDna a, PackedDna b, int distance) {
+        int longest = Math.max(a.length(), b.length());
+        return (longest - distance) * 100.0 / longest;
+    }
 
-        int matches = 0;
-        int comparable = 0;
+    // validation + encodage 2 bits en une passe (blancs ignorés, minuscules acceptées)
+    private PackedDna cleanDNA(String s) {
+        PackedDna seq = PackedDna.parse(s);
+        if (seq.length() == 0) {
+            throw new IllegalArgumentException(PackedDna.INVALID_MESSAGE);
+        }
+        return seq;
+    }
 
-        for (int i = 0; i < len; i++) {
-            char c1 = a.charAt(i);
-            char c2 = b.charAt(i);
-            if (c1 == '-' && c2 == '-') continue;
-            comparable++;
-            if (c1 == c2) matches++;
+    private Alignment needlemanWunsch(PackedDna a, PackedDna b, Integer maxEdits, ForkJoinPool parallel,
+                                      Progress progress) {
+        if (maxEdits != null) {
+            Alignment banded = BandedNeedlemanWunsch.align(a, b, maxEdits, linearMemoryThresholdCells, progress);
+            if (banded != null) return banded;
         }
+        if (linearMemory(a, b)) return Hirschberg.align(a, b, parallel, progress);
+        return NeedlemanWunsch.align(a, b, progress);
+    }
+
+    private Alignment smithWaterman(PackedDna a, Prepared b, ForkJoinPool parallel, Progress progress) {
+        if (swWavefront(a, b.seq(), parallel)) return Wavefront.smithWaterman(a, b.seq(), parallel, progress);
+        return simd
+                ? StripedSmithWaterman.align(a, b.profile(), progress)
+                : SmithWaterman.align(a, b.seq(), progress);
+    }
 
-        return comparable == 0 ? 0.0 : (matches * 100.0) / comparable;
+    private boolean linearMemory(PackedDna a, PackedDna b) {
+        return (long) (a.length() + 1) * (b.length() + 1) > linearMemoryThresholdCells;
     }
+
+    private boolean swWavefront(PackedDna a, PackedDna b, ForkJoinPool parallel) {
+        return parallel != null && (long) a.length() * b.length() >= Wavefront.MIN_CELLS
+                && parallel.getParallelism() >= swWavefrontMinParallelism;
+    }
+
+    // Cellules comptées par Progress.rows sur le chemin choisi, au pire : sert à expect() et à
+    // l'admission des jobs, pour qu'un job accepté ne meure pas sur son budget de cellules.
+    //  - Myers, NW complet : n*m
+    //  - Hirschberg : chaque moitié est recalculée (n*m + n*m/2 + ... ~ 2*n*m)
+    //  - bande : n * largeur à chaque essai, largeur doublée jusqu'à couvrir la matrice ;
+    //    si la bande dépasse le seuil, repli sur NW / Hirschberg en plus des essais faits
+    //  - SW : remplissage n*m, puis la fenêtre réalignée en global (NW : au plus n*m, Hirschberg
+    //    après le front d'onde : au plus 2*n*m). La fenêtre est en général bien plus petite :
+    //    l'avancement d'un job SW finit alors sous 100 % avant de passer à SUCCEEDED.
+    private long expectedCells(PackedDna a, PackedDna b, AlignmentAlgorithm algo, Integer maxEdits,
+                               ForkJoinPool parallel) {
+        int n = a.length(), m = b.length();
+        long full = (long) n * m;
+        return switch (algo) {
+            case EDIT_DISTANCE -> full;
+            case BLAST_SIMPLIFIED -> swWavefront(a, b, parallel) ? 3 * full : 2 * full;
+            case NEEDLEMAN_WUNSCH -> {
+                long fallback = linearMemory(a, b) ? 2 * full : full;
+                if (maxEdits == null) yield fallback;
+                // même boucle que BandedNeedlemanWunsch.align, en supposant que chaque essai échoue
+                long banded = 0;
+                for (long w = Math.max(1, maxEdits); ; w *= 2) {
+                    long lo = Math.max(-n, Math.min(0, m - n) - w);
+                    long hi = Math.min(m, Math.max(0, m - n) + w);
+                    long width = hi - lo + 1;
+                    if ((n + 1L) * width > linearMemoryThresholdCells) yield banded + fallback;
+                    banded += n * width;
+                    if (lo == -n && hi == m) yield banded;
+                }
+            }
+        };
+    }
+
     @GetMapping("/stats")
     public Map<String, Long> stats() {
         return Map.of("alignments", repo.count());
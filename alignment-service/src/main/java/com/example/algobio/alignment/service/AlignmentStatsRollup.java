@@ -0,0 +1,96 @@
+package com.example.algobio.alignment.service;
+
+import com.example.algobio.alignment.entity.AlignmentResult;
+import com.example.algobio.alignment.repository.AlignmentStatsDailyRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// ------------------------------------------------------
+// Agrégats de statistiques maintenus au fil de l'eau
+// ------------------------------------------------------
+// Chaque ligne écrite dans alignment_results incrémente des LongAdder par (jour, algorithme) ;
+// un thread les vide périodiquement dans alignment_stats_daily par upsert additif.
+// Les endpoints /stats lisent cette table (O(jours)) au lieu de parcourir les résultats.
+// Le remplissage initial depuis alignment_results est fait une fois par schema.sql.
+@Component
+public class AlignmentStatsRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(AlignmentStatsRollup.class);
+
+    private record Key(LocalDate day, String algorithm) {}
+
+    private static final class Totals {
+        final LongAdder alignments = new LongAdder();
+        final LongAdder scoreSum = new LongAdder();
+        final DoubleAdder identitySum = new DoubleAdder();
+    }
+
+    private final AlignmentStatsDailyRepository repo;
+    private final Map<Key, Totals> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public AlignmentStatsRollup(
+            AlignmentStatsDailyRepository repo,
+            @Value("${alignment.stats.flush-interval-ms:10000}") long flushIntervalMs
+    ) {
+        this.repo = repo;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "alignment-stats-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(AlignmentResult row) {
+        Totals t = pending.computeIfAbsent(
+                new Key(row.getCreatedAt().toLocalDate(), row.getAlgorithm()), k -> new Totals());
+        t.alignments.increment();
+        t.scoreSum.add(row.getScore());
+        t.identitySum.add(row.getIdentityPercent());
+    }
+
+    synchronized void flush() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (Map.Entry<Key, Totals> e : pending.entrySet()) {
+            Key key = e.getKey();
+            Totals t = e.getValue();
+            long alignments = t.alignments.sumThenReset();
+            long scoreSum = t.scoreSum.sumThenReset();
+            double identitySum = t.identitySum.sumThenReset();
+
+            if (alignments != 0 || scoreSum != 0 || identitySum != 0) {
+                try {
+                    repo.add(key.day(), key.algorithm(), alignments, scoreSum, identitySum);
+                } catch (RuntimeException ex) {
+                    // on garde les valeurs pour le prochain passage
+                    t.alignments.add(alignments);
+                    t.scoreSum.add(scoreSum);
+                    t.identitySum.add(identitySum);
+                    log.warn("Échec de la mise à jour de alignment_stats_daily ({})", key, ex);
+                    continue;
+                }
+            }
+            // les jours passés ne reçoivent plus de lignes : on borne la map
+            if (key.day().isBefore(yesterday)) pending.remove(key, t);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+}
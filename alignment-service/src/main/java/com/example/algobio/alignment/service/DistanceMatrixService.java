@@ -0,0 +1,247 @@
+package com.example.algobio.alignment.service;
+
+import com.example.algobio.alignment.algorithm.Scoring;
+import com.example.algobio.alignment.dto.AlignmentAlgorithm;
+import com.example.algobio.alignment.dto.AlignmentScoreResponse;
+import com.example.algobio.alignment.dto.DistanceMatrixChunk;
+import com.example.algobio.alignment.dto.DistanceMatrixRequest;
+import com.example.algobio.alignment.dto.DistanceMatrixResponse;
+import com.example.algobio.common.dna.PackedDna;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// ------------------------------------------------------
+// Matrice N x N (score + identité) d'un ensemble de séquences
+// ------------------------------------------------------
+// Remplace N² appels à POST /api/alignment : score seul (deux lignes DP, pas de traceback),
+// rien dans alignment_results ni dans le cache. Seul le triangle supérieur est calculé,
+// sur le pool de calcul du service, puis recopié par symétrie ; la diagonale est connue
+// (séquence contre elle-même : N x MATCH, 100 %, distance 0).
+// Une tâche = les lignes k et N-1-k : même nombre de paires pour toutes les tâches.
+// Au-delà de inline-max-size séquences, les cellules sont écrites directement dans un
+// fichier mappé en mémoire (ligne par ligne, int score + double identité par cellule) que
+// le client télécharge par morceaux de lignes ; fichier supprimé après retention-ms.
+@Service
+public class DistanceMatrixService {
+
+    private static final Logger log = LoggerFactory.getLogger(DistanceMatrixService.class);
+
+    private static final int CELL_BYTES = Integer.BYTES + Double.BYTES;
+
+    private interface Cells {
+        void put(int i, int j, int score, double identity);
+    }
+
+    private record Stored(String id, Path path, int size, AlignmentAlgorithm algorithm, LocalDateTime expiresAt) {}
+
+    private final AlignmentService service;
+    private final int maxSequences;
+    private final int inlineMaxSize;
+    private final int maxChunkRows;
+    private final Path dir;
+    private final long retentionMs;
+    private final Map<String, Stored> stored = new ConcurrentHashMap<>();
+
+    public DistanceMatrixService(
+            AlignmentService service,
+            @Value("${alignment.matrix.max-sequences:5000}") int maxSequences,
+            @Value("${alignment.matrix.inline-max-size:200}") int inlineMaxSize,
+            @Value("${alignment.matrix.max-chunk-rows:100}") int maxChunkRows,
+            @Value("${alignment.matrix.dir:${java.io.tmpdir}/algobio-matrices}") String dir,
+            @Value("${alignment.matrix.retention-ms:3600000}") long retentionMs
+    ) {
+        this.service = service;
+        this.maxSequences = maxSequences;
+        this.inlineMaxSize = inlineMaxSize;
+        this.maxChunkRows = maxChunkRows;
+        this.dir = Path.of(dir);
+        this.retentionMs = retentionMs;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Stored s : stored.values()) deleteQuietly(s.path());
+        stored.clear();
+    }
+
+    public DistanceMatrixResponse compute(DistanceMatrixRequest req) {
+        purge();
+        AlignmentAlgorithm algo = req.getAlgorithm();
+        List<PackedDna> seqs = sequences(req);
+        int n = seqs.size();
+
+        if (n <= inlineMaxSize) {
+            int[][] scores = new int[n][n];
+            double[][] identity = new double[n][n];
+            fill(seqs, algo, (i, j, score, id) -> {
+                scores[i][j] = score;
+                identity[i][j] = id;
+            });
+            return new DistanceMatrixResponse(null, n, algo, scores, identity, null);
+        }
+
+        long bytes = (long) n * n * CELL_BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Matrice trop grande (" + n + " séquences).");
+        }
+        String id = UUID.randomUUID().toString();
+        Path path = dir.resolve(id + ".matrix");
+        try {
+            Files.createDirectories(dir);
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                // écritures absolues à des positions disjointes : pas de partage d'état entre threads
+                fill(seqs, algo, (i, j, score, identity) -> {
+                    int off = (i * n + j) * CELL_BYTES;
+                    map.putInt(off, score);
+                    map.putDouble(off + Integer.BYTES, identity);
+                });
+                map.force();
+            }
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw new UncheckedIOException("Écriture de la matrice impossible.", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(path);
+            throw e;
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(retentionMs));
+        stored.put(id, new Stored(id, path, n, algo, expiresAt));
+        return new DistanceMatrixResponse(id, n, algo, null, null, expiresAt);
+    }
+
+    public DistanceMatrixResponse get(String id) {
+        purge();
+        Stored s = stored.get(id);
+        return s == null ? null : new DistanceMatrixResponse(s.id(), s.size(), s.algorithm(), null, null, s.expiresAt());
+    }
+
+    // lignes [from, from + count) ; count borné par max-chunk-rows et la fin de la matrice
+    public DistanceMatrixChunk rows(String id, int from, int count) {
+        purge();
+        Stored s = stored.get(id);
+        if (s == null) return null;
+        int n = s.size();
+        if (from < 0 || from >= n || count < 1) {
+            throw new IllegalArgumentException("Lignes hors de la matrice (0.." + (n - 1) + ").");
+        }
+        int rows = Math.min(Math.min(count, maxChunkRows), n - from);
+
+        int[][] scores = new int[rows][n];
+        double[][] identity = new double[rows][n];
+        try (FileChannel ch = FileChannel.open(s.path(), StandardOpenOption.READ)) {
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY,
+                    (long) from * n * CELL_BYTES, (long) rows * n * CELL_BYTES);
+            for (int r = 0, off = 0; r < rows; r++) {
+                for (int j = 0; j < n; j++, off += CELL_BYTES) {
+                    scores[r][j] = map.getInt(off);
+                    identity[r][j] = map.getDouble(off + Integer.BYTES);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture de la matrice impossible.", e);
+        }
+        return new DistanceMatrixChunk(id, n, from, scores, identity);
+    }
+
+    public boolean delete(String id) {
+        Stored s = stored.remove(id);
+        if (s == null) return false;
+        deleteQuietly(s.path());
+        return true;
+    }
+
+    private List<PackedDna> sequences(DistanceMatrixRequest req) {
+        List<String> inline = req.getSequences() == null ? List.of() : req.getSequences();
+        List<Long> ids = req.getSequenceIds() == null ? List.of() : req.getSequenceIds();
+        int n = inline.size() + ids.size();
+        if (n == 0) throw new IllegalArgumentException("Aucune séquence.");
+        if (n > maxSequences) throw new IllegalArgumentException("Trop de séquences (max " + maxSequences + ").");
+        return service.sequences(inline, ids);
+    }
+
+    private void fill(List<PackedDna> seqs, AlignmentAlgorithm algo, Cells cells) {
+        int n = seqs.size();
+        for (int i = 0; i < n; i++) {
+            if (algo == AlignmentAlgorithm.EDIT_DISTANCE) cells.put(i, i, 0, 100.0);
+            else cells.put(i, i, seqs.get(i).length() * Scoring.MATCH, 100.0);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>((n + 1) / 2);
+        for (int k = 0; k < (n + 1) / 2; k++) {
+            int top = k, bottom = n - 1 - k;
+            tasks.add(() -> {
+                row(seqs, top, algo, cells);
+                if (bottom != top) row(seqs, bottom, algo, cells);
+                return null;
+            });
+        }
+        runAll(tasks);
+    }
+
+    // paires (i, j > i) : seq2 = séquence i (précalculée une fois), seq1 = séquence j
+    private void row(List<PackedDna> seqs, int i, AlignmentAlgorithm algo, Cells cells) {
+        Function<PackedDna, AlignmentScoreResponse> scorer = service.scorer(seqs.get(i), algo);
+        for (int j = i + 1; j < seqs.size(); j++) {
+            AlignmentScoreResponse r = scorer.apply(seqs.get(j));
+            cells.put(i, j, r.getScore(), r.getIdentityPercent());
+            cells.put(j, i, r.getScore(), r.getIdentityPercent());
+        }
+    }
+
+    private <T> List<T> runAll(List<Callable<T>> tasks) {
+        try {
+            List<T> out = new ArrayList<>(tasks.size());
+            for (Future<T> f : service.pool().invokeAll(tasks)) out.add(f.get());
+            return out;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Matrice interrompue.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException iae) throw iae;
+            throw new IllegalStateException("Échec du calcul de la matrice.", e.getCause());
+        }
+    }
+
+    // les matrices expirées sont oubliées et leur fichier supprimé
+    private void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        stored.values().removeIf(s -> {
+            if (s.expiresAt().isAfter(now)) return false;
+            deleteQuietly(s.path());
+            return true;
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Suppression impossible : {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.algobio.alignment.service;
+
+import com.example.algobio.alignment.algorithm.MultipleAlignment;
+import com.example.algobio.alignment.algorithm.ProgressiveMsa;
+import com.example.algobio.alignment.dto.MsaRequest;
+import com.example.algobio.alignment.dto.MsaResponse;
+import com.example.algobio.common.dna.PackedDna;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// ------------------------------------------------------
+// Alignement multiple progressif (POST /api/alignment/msa)
+// ------------------------------------------------------
+// Arbre guide sur distances k-mer puis alignements profil-profil (ProgressiveMsa), sur le
+// pool de calcul du service. Rien n'est persisté.
+@Service
+public class MsaService {
+
+    private final AlignmentService service;
+    private final int maxSequences;
+
+    public MsaService(
+            AlignmentService service,
+            @Value("${alignment.msa.max-sequences:1000}") int maxSequences
+    ) {
+        this.service = service;
+        this.maxSequences = maxSequences;
+    }
+
+    public MsaResponse align(MsaRequest req) {
+        List<String> inline = req.getSequences() == null ? List.of() : req.getSequences();
+        List<Long> ids = req.getSequenceIds() == null ? List.of() : req.getSequenceIds();
+        int n = inline.size() + ids.size();
+        if (n < 2) throw new IllegalArgumentException("Il faut au moins deux séquences.");
+        if (n > maxSequences) throw new IllegalArgumentException("Trop de séquences (max " + maxSequences + ").");
+
+        List<PackedDna> seqs = service.sequences(inline, ids);
+        MultipleAlignment msa = ProgressiveMsa.align(seqs, service.pool());
+        return new MsaResponse(msa.rows(), msa.rows().get(0).length(), msa.guideTree(), msa.sumOfPairs());
+    }
+}
@@ -0,0 +1,13 @@
+-- Exécuté après la mise à jour du schéma par Hibernate (defer-datasource-initialization).
+-- Les alignements sont stockés en script d'édition (cigar) : les anciennes colonnes
+-- de texte aligné ne sont plus remplies pour les nouvelles lignes.
+ALTER TABLE alignment_results ALTER COLUMN aligned1 DROP NOT NULL;
+ALTER TABLE alignment_results ALTER COLUMN aligned2 DROP NOT NULL;
+
+-- Agrégats journaliers : remplissage initial depuis alignment_results (une seule fois,
+-- tant que la table est vide) ; ensuite AlignmentStatsRollup les maintient.
+INSERT INTO alignment_stats_daily (day, algorithm, alignments, score_sum, identity_sum)
+SELECT created_at::date, algorithm, COUNT(*), SUM(score), SUM(identity_percent)
+FROM alignment_results
+WHERE NOT EXISTS (SELECT 1 FROM alignment_stats_daily)
+GROUP BY created_at::date, algorithm;
@@ -2,11 +2,22 @@ package com.example.algobio.mutation.client;
 
 import com.example.algobio.mutation.dto.AlignmentRequest;
 import com.example.algobio.mutation.dto.AlignmentResponse;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @Component
 public class AlignmentClient {
+    // voie batch du contrôle d'admission d'alignment-service : les variantes d'une simulation
+    // passent après les requêtes interactives
+    private static final String LANE_HEADER = "X-Alignment-Lane";
+
+    // 429 : on respecte Retry-After (plafonné) avant de réessayer
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long MAX_RETRY_AFTER_SECONDS = 30;
+
     private final RestTemplate restTemplate;
 
     public AlignmentClient(RestTemplate restTemplate) {
@@ -14,10 +25,39 @@ public class AlignmentClient {
     }
 
     public AlignmentResponse align(AlignmentRequest req) {
-        return restTemplate.postForObject(
-                "http://ALIGNMENT-SERVICE/api/alignment",
-                req,
-                AlignmentResponse.class
-        );
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(LANE_HEADER, "batch");
+        HttpEntity<AlignmentRequest> entity = new HttpEntity<>(req, headers);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return restTemplate.postForObject(
+                        "http://ALIGNMENT-SERVICE/api/alignment",
+                        entity,
+                        AlignmentResponse.class
+                );
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                if (attempt >= MAX_ATTEMPTS) throw e;
+                sleep(retryAfterSeconds(e), e);
+            }
+        }
+    }
+
+    private static long retryAfterSeconds(HttpClientErrorException e) {
+        String value = e.getResponseHeaders() == null ? null : e.getResponseHeaders().getFirst("Retry-After");
+        try {
+            return value == null ? 1 : Math.min(MAX_RETRY_AFTER_SECONDS, Math.max(1, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ex) {
+            return 1;
+        }
+    }
+
+    private static void sleep(long seconds, HttpClientErrorException cause) {
+        try {
+            Thread.sleep(seconds * 1000);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
     }
-}
\ No newline at end of file
+}
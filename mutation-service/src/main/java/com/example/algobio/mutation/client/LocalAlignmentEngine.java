@@ -0,0 +1,112 @@
+package com.example.algobio.mutation.client;
+
+import com.example.algobio.alignment.algorithm.Alignment;
+import com.example.algobio.alignment.algorithm.BandedNeedlemanWunsch;
+import com.example.algobio.alignment.algorithm.Hirschberg;
+import com.example.algobio.alignment.algorithm.NeedlemanWunsch;
+import com.example.algobio.alignment.algorithm.SimdSupport;
+import com.example.algobio.alignment.algorithm.SmithWaterman;
+import com.example.algobio.alignment.algorithm.StripedSmithWaterman;
+import com.example.algobio.common.dna.PackedDna;
+import com.example.algobio.mutation.dto.AlignmentAlgorithm;
+import com.example.algobio.mutation.dto.AlignmentRequest;
+import com.example.algobio.mutation.dto.AlignmentResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ------------------------------------------------------
+// Alignement en mémoire (mutation.alignment.engine=local)
+// ------------------------------------------------------
+// Mêmes noyaux et même choix qu'alignment-service (bande si maxEdits, Hirschberg au-delà
+// du seuil, SW strié si SIMD), appelés directement : ni JSON, ni Eureka, ni HTTP.
+// Pas de front d'onde : les variantes d'une simulation occupent déjà les threads.
+// Les noyaux tournent sur un petit pool fixe de threads plateforme : les variantes (threads
+// virtuels, un neuf par tâche) y soumettent leur calcul et attendent. Ainsi les tampons
+// ThreadLocal de DpArena sont réutilisés d'une variante à l'autre au lieu d'être réalloués
+// à chaque thread virtuel.
+// Rien n'est persisté dans alignment_results.
+@Component
+public class LocalAlignmentEngine {
+
+    private final long linearMemoryThresholdCells;
+    private final boolean simd;
+    // threads créés à la première soumission : rien ne démarre en mode remote
+    private final ExecutorService executor;
+
+    public LocalAlignmentEngine(
+            @Value("${mutation.alignment.local.linear-memory-threshold-cells:4000000}") long linearMemoryThresholdCells,
+            @Value("${mutation.alignment.local.simd-enabled:true}") boolean simdEnabled,
+            @Value("${mutation.alignment.local.threads:0}") int threads
+    ) {
+        this.linearMemoryThresholdCells = linearMemoryThresholdCells;
+        this.simd = simdEnabled && SimdSupport.isAvailable();
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), r -> {
+                    Thread t = new Thread(r, "local-alignment-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // appelé depuis le thread virtuel d'une variante, qui attend le résultat ; une
+    // interruption (variante annulée) annule aussi le calcul en file
+    public AlignmentResponse align(AlignmentRequest req) {
+        Future<AlignmentResponse> f = executor.submit(() -> compute(req));
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException("Échec de l'alignement local.", e.getCause());
+        } catch (InterruptedException e) {
+            f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Alignement local interrompu.", e);
+        }
+    }
+
+    private AlignmentResponse compute(AlignmentRequest req) {
+        PackedDna a = PackedDna.parse(req.getSeq1());
+        PackedDna b = PackedDna.parse(req.getSeq2());
+
+        Alignment al = (req.getAlgorithm() == AlignmentAlgorithm.NEEDLEMAN_WUNSCH)
+                ? needlemanWunsch(a, b, req.getMaxEdits())
+                : smithWaterman(a, b);
+
+        AlignmentResponse res = new AlignmentResponse();
+        res.setAlignedSeq1(al.aligned1());
+        res.setAlignedSeq2(al.aligned2());
+        res.setScore(al.score());
+        res.setIdentityPercent(al.identityPercent());
+        res.setAlignStart1(al.start1());
+        res.setAlignStart2(al.start2());
+        return res;
+    }
+
+    private Alignment needlemanWunsch(PackedDna a, PackedDna b, Integer maxEdits) {
+        if (maxEdits != null) {
+            Alignment banded = BandedNeedlemanWunsch.align(a, b, maxEdits, linearMemoryThresholdCells);
+            if (banded != null) return banded;
+        }
+        long cells = (long) (a.length() + 1) * (b.length() + 1);
+        if (cells > linearMemoryThresholdCells) return Hirschberg.align(a, b);
+        return NeedlemanWunsch.align(a, b);
+    }
+
+    private Alignment smithWaterman(PackedDna a, PackedDna b) {
+        return simd ? StripedSmithWaterman.align(a, b) : SmithWaterman.align(a, b);
+    }
+}
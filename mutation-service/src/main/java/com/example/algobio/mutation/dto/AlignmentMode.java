@@ -0,0 +1,6 @@
+package com.example.algobio.mutation.dto;
+
+public enum AlignmentMode {
+    DP,
+    EXACT_FROM_EDITS
+}
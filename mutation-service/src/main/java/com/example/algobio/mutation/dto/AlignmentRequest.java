@@ -4,11 +4,16 @@ public class AlignmentRequest {
     private String seq1;
     private String seq2;
     private AlignmentAlgorithm algorithm;
+    private Integer maxEdits;
 
     public AlignmentRequest() {}
     public AlignmentRequest(String seq1, String seq2, AlignmentAlgorithm algorithm) {
         this.seq1 = seq1; this.seq2 = seq2; this.algorithm = algorithm;
     }
+    public AlignmentRequest(String seq1, String seq2, AlignmentAlgorithm algorithm, Integer maxEdits) {
+        this(seq1, seq2, algorithm);
+        this.maxEdits = maxEdits;
+    }
 
     public String getSeq1() { return seq1; }
     public void setSeq1(String seq1) { this.seq1 = seq1; }
@@ -16,4 +21,6 @@ public class AlignmentRequest {
     public void setSeq2(String seq2) { this.seq2 = seq2; }
     public AlignmentAlgorithm getAlgorithm() { return algorithm; }
     public void setAlgorithm(AlignmentAlgorithm algorithm) { this.algorithm = algorithm; }
+    public Integer getMaxEdits() { return maxEdits; }
+    public void setMaxEdits(Integer maxEdits) { this.maxEdits = maxEdits; }
 }
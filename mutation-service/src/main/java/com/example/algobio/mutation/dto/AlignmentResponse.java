@@ -5,6 +5,8 @@ public class AlignmentResponse {
     private String alignedSeq2;
     private int score;
     private double identityPercent;
+    private int alignStart1;
+    private int alignStart2;
 
     public String getAlignedSeq1() { return alignedSeq1; }
     public void setAlignedSeq1(String alignedSeq1) { this.alignedSeq1 = alignedSeq1; }
@@ -14,4 +16,8 @@ public class AlignmentResponse {
     public void setScore(int score) { this.score = score; }
     public double getIdentityPercent() { return identityPercent; }
     public void setIdentityPercent(double identityPercent) { this.identityPercent = identityPercent; }
+    public int getAlignStart1() { return alignStart1; }
+    public void setAlignStart1(int alignStart1) { this.alignStart1 = alignStart1; }
+    public int getAlignStart2() { return alignStart2; }
+    public void setAlignStart2(int alignStart2) { this.alignStart2 = alignStart2; }
 }
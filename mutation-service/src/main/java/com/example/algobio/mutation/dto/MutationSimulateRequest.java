@@ -19,6 +19,14 @@ public class MutationSimulateRequest {
     @NotNull
     private AlignmentAlgorithm alignmentAlgorithm;
 
+    // DP : alignement calculé (alignment-service ou moteur local) ;
+    // EXACT_FROM_EDITS : déduit des modifications appliquées, sans DP
+    @NotNull
+    private AlignmentMode alignmentMode = AlignmentMode.DP;
+
+    // graine du générateur (optionnelle) : même graine + mêmes paramètres = mêmes variantes
+    private Long seed;
+
     public Long getSequenceId() { return sequenceId; }
     public void setSequenceId(Long sequenceId) { this.sequenceId = sequenceId; }
 
@@ -36,4 +44,10 @@ public class MutationSimulateRequest {
 
     public AlignmentAlgorithm getAlignmentAlgorithm() { return alignmentAlgorithm; }
     public void setAlignmentAlgorithm(AlignmentAlgorithm alignmentAlgorithm) { this.alignmentAlgorithm = alignmentAlgorithm; }
+
+    public AlignmentMode getAlignmentMode() { return alignmentMode; }
+    public void setAlignmentMode(AlignmentMode alignmentMode) { this.alignmentMode = alignmentMode; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
 }
@@ -4,16 +4,21 @@ import java.util.List;
 
 public class MutationSimulateResponse {
     private String originalSequence;
+    // graine effectivement utilisée (fournie ou tirée), à renvoyer pour rejouer la simulation
+    private long seed;
     private List<MutationVariantResult> variants;
 
     public MutationSimulateResponse() {}
-    public MutationSimulateResponse(String originalSequence, List<MutationVariantResult> variants) {
+    public MutationSimulateResponse(String originalSequence, long seed, List<MutationVariantResult> variants) {
         this.originalSequence = originalSequence;
+        this.seed = seed;
         this.variants = variants;
     }
 
     public String getOriginalSequence() { return originalSequence; }
     public void setOriginalSequence(String originalSequence) { this.originalSequence = originalSequence; }
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
     public List<MutationVariantResult> getVariants() { return variants; }
     public void setVariants(List<MutationVariantResult> variants) { this.variants = variants; }
 }
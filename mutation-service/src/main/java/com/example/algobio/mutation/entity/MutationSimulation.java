@@ -28,6 +28,14 @@ public class MutationSimulation {
     @Column(nullable=false)
     private String alignmentAlgorithm;
 
+    // DP ou EXACT_FROM_EDITS ; null pour les simulations antérieures (DP)
+    @Column(name="alignment_mode")
+    private String alignmentMode;
+
+    // graine du générateur de mutations ; null pour les simulations antérieures (non rejouables)
+    @Column(name="seed")
+    private Long seed;
+
     @Column(nullable=false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -49,6 +57,10 @@ public class MutationSimulation {
     public void setVariantsCount(int variantsCount) { this.variantsCount = variantsCount; }
     public String getAlignmentAlgorithm() { return alignmentAlgorithm; }
     public void setAlignmentAlgorithm(String alignmentAlgorithm) { this.alignmentAlgorithm = alignmentAlgorithm; }
+    public String getAlignmentMode() { return alignmentMode; }
+    public void setAlignmentMode(String alignmentMode) { this.alignmentMode = alignmentMode; }
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
     public LocalDateTime getCreatedAt() { return createdAt; }
 
     public List<MutationVariant> getVariants() { return variants; }
@@ -1,5 +1,6 @@
 package com.example.algobio.mutation.entity;
 
+import com.example.algobio.common.alignment.EditScript;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -21,11 +22,25 @@ public class MutationVariant {
     @Column(nullable=false, length=12000)
     private String mutatedSequence;
 
-    @Column(nullable=false, length=12000)
-    private String alignedOriginal;
+    // alignement original / muté stocké en script d'édition (voir EditScript), rendu à la demande
+    @Column(columnDefinition = "TEXT")
+    private String cigar;
 
-    @Column(nullable=false, length=12000)
-    private String alignedMutated;
+    @Column(name = "align_start1")
+    private Integer alignStart1;
+
+    @Column(name = "align_start2")
+    private Integer alignStart2;
+
+    // anciennes lignes (texte aligné complet) : lues seulement si cigar est null
+    @Column(name = "aligned_original", length=12000)
+    private String legacyAlignedOriginal;
+
+    @Column(name = "aligned_mutated", length=12000)
+    private String legacyAlignedMutated;
+
+    @Transient
+    private EditScript.Rendered rendered;
 
     @Column(nullable=false)
     private int score;
@@ -41,11 +56,29 @@ public class MutationVariant {
     public String getMutatedSequence() { return mutatedSequence; }
     public void setMutatedSequence(String mutatedSequence) { this.mutatedSequence = mutatedSequence; }
 
-    public String getAlignedOriginal() { return alignedOriginal; }
-    public void setAlignedOriginal(String alignedOriginal) { this.alignedOriginal = alignedOriginal; }
+    public String getCigar() { return cigar; }
+    public int getAlignStart1() { return alignStart1 == null ? 0 : alignStart1; }
+    public int getAlignStart2() { return alignStart2 == null ? 0 : alignStart2; }
+
+    public void setAlignment(String alignedOriginal, String alignedMutated, int alignStart1, int alignStart2) {
+        this.cigar = EditScript.encode(alignedOriginal, alignedMutated);
+        this.alignStart1 = alignStart1;
+        this.alignStart2 = alignStart2;
+        this.rendered = new EditScript.Rendered(alignedOriginal, alignedMutated);
+    }
 
-    public String getAlignedMutated() { return alignedMutated; }
-    public void setAlignedMutated(String alignedMutated) { this.alignedMutated = alignedMutated; }
+    public String getAlignedOriginal() { return render().aligned1(); }
+    public String getAlignedMutated() { return render().aligned2(); }
+
+    private EditScript.Rendered render() {
+        if (rendered == null) {
+            rendered = cigar == null
+                    ? new EditScript.Rendered(legacyAlignedOriginal, legacyAlignedMutated)
+                    : EditScript.render(cigar, simulation.getOriginalSequence(), getAlignStart1(),
+                                        mutatedSequence, getAlignStart2());
+        }
+        return rendered;
+    }
 
     public int getScore() { return score; }
     public void setScore(int score) { this.score = score; }
@@ -0,0 +1,109 @@
+package com.example.algobio.mutation.service;
+
+import com.example.algobio.alignment.algorithm.Scoring;
+import com.example.algobio.common.dna.PackedDna;
+import com.example.algobio.mutation.dto.AlignmentResponse;
+import com.example.algobio.mutation.dto.MutationType;
+
+// ------------------------------------------------------
+// Journal des modifications d'une variante, dans l'ordre de l'original
+// ------------------------------------------------------
+// Une simulation n'applique qu'un type de mutation. positions est croissant, en coordonnées
+// de l'original (pas dans l'ordre de tirage) :
+//  - SUBSTITUTION : positions dont la base finale diffère, bases = nouvelles bases
+//  - DELETION : positions supprimées (bases inutilisé)
+//  - INSERTION : base insérée juste avant la base d'origine positions[e] ; à position égale,
+//    l'ordre du journal est celui du mutant. bases = bases insérées
+// align() en déduit l'alignement original / muté en O(n), sans programmation dynamique.
+// C'est l'alignement « vrai » de la variante : pour NW, son score est optimal avec des
+// indels seuls et une borne inférieure du score DP avec des substitutions (un décalage
+// peut parfois faire mieux). Le mode DP reste disponible pour le vérifier.
+final class EditLog {
+
+    private static final char GAP_CHAR = '-';
+
+    private final MutationType type;
+    private final int[] positions;
+    private final byte[] bases;
+    private final int size;
+
+    EditLog(MutationType type, int[] positions, byte[] bases, int size) {
+        this.type = type;
+        this.positions = positions;
+        this.bases = bases;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // local : meilleur segment (somme maximale des scores de colonnes) de l'alignement global,
+    // comme la fenêtre de SW ; score nul -> alignement vide
+    AlignmentResponse align(String original, boolean local) {
+        int n = original.length();
+        int cols = type == MutationType.INSERTION ? n + size : n;
+        char[] a1 = new char[cols];
+        char[] a2 = new char[cols];
+
+        int e = 0;
+        for (int i = 0, c = 0; i <= n; i++) {
+            while (type == MutationType.INSERTION && e < size && positions[e] == i) {
+                a1[c] = GAP_CHAR;
+                a2[c++] = PackedDna.base(bases[e++]);
+            }
+            if (i == n) break;
+            char base = original.charAt(i);
+            a1[c] = base;
+            if (type != MutationType.INSERTION && e < size && positions[e] == i) {
+                a2[c++] = type == MutationType.DELETION ? GAP_CHAR : PackedDna.base(bases[e]);
+                e++;
+            } else {
+                a2[c++] = base;
+            }
+        }
+
+        int from = 0, to = cols;
+        if (local) {
+            int best = 0, run = 0, runFrom = 0;
+            from = to = 0;
+            for (int c = 0; c < cols; c++) {
+                if (run <= 0) {
+                    run = 0;
+                    runFrom = c;
+                }
+                run += columnScore(a1[c], a2[c]);
+                if (run > best) {
+                    best = run;
+                    from = runFrom;
+                    to = c + 1;
+                }
+            }
+        }
+
+        int score = 0, matches = 0, start1 = 0, start2 = 0;
+        for (int c = 0; c < from; c++) {
+            if (a1[c] != GAP_CHAR) start1++;
+            if (a2[c] != GAP_CHAR) start2++;
+        }
+        for (int c = from; c < to; c++) {
+            score += columnScore(a1[c], a2[c]);
+            if (a1[c] == a2[c]) matches++;
+        }
+
+        AlignmentResponse res = new AlignmentResponse();
+        res.setAlignedSeq1(new String(a1, from, to - from));
+        res.setAlignedSeq2(new String(a2, from, to - from));
+        res.setScore(score);
+        // pas de colonne gap / gap : toutes les colonnes sont comparables
+        res.setIdentityPercent(to == from ? 0.0 : matches * 100.0 / (to - from));
+        res.setAlignStart1(to == from ? 0 : start1);
+        res.setAlignStart2(to == from ? 0 : start2);
+        return res;
+    }
+
+    private static int columnScore(char x, char y) {
+        if (x == GAP_CHAR || y == GAP_CHAR) return Scoring.GAP;
+        return x == y ? Scoring.MATCH : Scoring.MISMATCH;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.algobio.mutation.service;
 
 import com.example.algobio.mutation.client.AlignmentClient;
+import com.example.algobio.mutation.client.LocalAlignmentEngine;
 import com.example.algobio.mutation.client.SequenceClient;
 import com.example.algobio.mutation.client.dto.SequenceDto;
 import com.example.algobio.mutation.dto.*;
@@ -8,53 +9,81 @@ import com.example.algobio.mutation.entity.MutationSimulation;
 import com.example.algobio.mutation.entity.MutationVariant;
 import com.example.algobio.mutation.repository.MutationSimulationRepository;
 import com.example.algobio.mutation.repository.MutationVariantRepository;
+import com.example.algobio.common.dna.PackedDna;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
 
 @Service
 public class MutationService {
 
     private final AlignmentClient alignmentClient;
+    private final LocalAlignmentEngine localEngine;
     private final SequenceClient sequenceClient;
     private final MutationSimulationRepository simulationRepo;
     private final MutationVariantRepository variantRepo;
 
-    private final SecureRandom rng = new SecureRandom();
-    private static final char[] BASES = {'A','T','C','G'};
+    // variantes d'une simulation traitées en parallèle (threads virtuels), au plus concurrency à la fois
+    private final int concurrency;
+
+    // remote : POST ALIGNMENT-SERVICE/api/alignment ; local : noyaux d'alignment-core en mémoire
+    private final boolean localAlignment;
 
     public MutationService(
             AlignmentClient alignmentClient,
+            LocalAlignmentEngine localEngine,
             SequenceClient sequenceClient,
             MutationSimulationRepository simulationRepo,
-            MutationVariantRepository variantRepo
+            MutationVariantRepository variantRepo,
+            @Value("${mutation.simulate.concurrency:8}") int concurrency,
+            @Value("${mutation.alignment.engine:remote}") String engine
     ) {
         this.alignmentClient = alignmentClient;
+        this.localEngine = localEngine;
         this.sequenceClient = sequenceClient;
         this.simulationRepo = simulationRepo;
         this.variantRepo = variantRepo;
+        this.concurrency = Math.max(1, concurrency);
+        this.localAlignment = switch (engine.trim().toLowerCase()) {
+            case "local" -> true;
+            case "remote" -> false;
+            default -> throw new IllegalArgumentException(
+                    "mutation.alignment.engine invalide : " + engine + " (remote|local).");
+        };
     }
 
     public MutationSimulateResponse simulate(MutationSimulateRequest req) {
 
         // 1) récupérer la séquence source
-        String original;
+        String source;
         if (req.getSequenceId() != null) {
             SequenceDto s = sequenceClient.getById(req.getSequenceId());
             if (s == null || s.getSequence() == null) {
                 throw new IllegalArgumentException("Sequence introuvable (id=" + req.getSequenceId() + ")");
             }
-            original = s.getSequence();
+            source = s.getSequence();
         } else if (req.getOriginalSequence() != null && !req.getOriginalSequence().isBlank()) {
-            original = req.getOriginalSequence();
+            source = req.getOriginalSequence();
         } else {
             throw new IllegalArgumentException("Tu dois fournir soit sequenceId soit originalSequence.");
         }
 
-        original = cleanDNA(original);
+        PackedDna packed = cleanDNA(source);
+        String original = packed.toString();
 
         // 2) calculer combien de mutations appliquer
         int n = Math.max(1, (int)Math.round(original.length() * req.getMutationRate()));
@@ -66,64 +95,175 @@ public class MutationService {
         sim.setMutationRate(req.getMutationRate());
         sim.setVariantsCount(req.getVariants());
         sim.setAlignmentAlgorithm(req.getAlignmentAlgorithm().name());
+        sim.setAlignmentMode(req.getAlignmentMode().name());
 
-        List<MutationVariantResult> results = new ArrayList<>();
+        // graine fournie ou tirée, toujours stockée : la simulation est rejouable à l'identique.
+        // Un sous-flux par variante, découpé ici dans l'ordre des indices : le résultat ne
+        // dépend pas de l'ordonnancement des threads.
+        long seed = req.getSeed() != null ? req.getSeed() : ThreadLocalRandom.current().nextLong();
+        sim.setSeed(seed);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[req.getVariants()];
+        for (int k = 0; k < streams.length; k++) streams[k] = root.split();
 
-        // 4) générer variantes + aligner + stocker
-        for (int k = 0; k < req.getVariants(); k++) {
-            String mutated = mutate(original, req.getMutationType(), n);
+        // EXACT_FROM_EDITS : alignement déduit du journal de mutate en O(n), sans DP
+        boolean fromEdits = req.getAlignmentMode() == AlignmentMode.EXACT_FROM_EDITS;
+        boolean local = req.getAlignmentAlgorithm() == AlignmentAlgorithm.BLAST_SIMPLIFIED;
 
-            AlignmentResponse align = alignmentClient.align(
-                    new AlignmentRequest(original, mutated, req.getAlignmentAlgorithm())
-            );
+        // 4) générer + aligner les variantes en parallèle, puis stocker dans l'ordre des indices
+        List<MutationVariantResult> results = runVariants(req.getVariants(), k -> {
+            Mutant mutant = mutate(packed, req.getMutationType(), n, streams[k]);
+            String mutated = mutant.sequence().toString();
+            AlignmentResponse align = fromEdits
+                    ? mutant.edits().align(original, local)
+                    : align(new AlignmentRequest(original, mutated, req.getAlignmentAlgorithm(), n));
+            return new MutationVariantResult(mutated, align);
+        });
 
+        for (MutationVariantResult r : results) {
+            AlignmentResponse align = r.getAlignment();
             MutationVariant v = new MutationVariant();
             v.setSimulation(sim);
-            v.setMutatedSequence(mutated);
-            v.setAlignedOriginal(align.getAlignedSeq1());
-            v.setAlignedMutated(align.getAlignedSeq2());
+            v.setMutatedSequence(r.getMutatedSequence());
+            v.setAlignment(align.getAlignedSeq1(), align.getAlignedSeq2(),
+                    align.getAlignStart1(), align.getAlignStart2());
             v.setScore(align.getScore());
             v.setIdentityPercent(align.getIdentityPercent());
 
             sim.getVariants().add(v);
-
-            results.add(new MutationVariantResult(mutated, align));
         }
 
         simulationRepo.save(sim);
 
-        return new MutationSimulateResponse(original, results);
+        return new MutationSimulateResponse(original, seed, results);
+    }
+
+    private AlignmentResponse align(AlignmentRequest req) {
+        return localAlignment ? localEngine.align(req) : alignmentClient.align(req);
+    }
+
+    // Une tâche par variante sur des threads virtuels, bornées par un sémaphore. Résultats rangés
+    // par indice (ordre déterministe) ; au premier échec les autres sont annulées et l'erreur
+    // remonte telle quelle, sans attendre les appels HTTP encore en vol.
+    private List<MutationVariantResult> runVariants(int count, IntFunction<MutationVariantResult> task) {
+        Semaphore permits = new Semaphore(concurrency);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<Integer> done = new ExecutorCompletionService<>(executor);
+            MutationVariantResult[] results = new MutationVariantResult[count];
+            List<Future<Integer>> futures = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                int index = k;
+                futures.add(done.submit(() -> {
+                    permits.acquire();
+                    try {
+                        results[index] = task.apply(index);
+                        return index;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int k = 0; k < count; k++) {
+                try {
+                    done.take().get();
+                } catch (ExecutionException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    if (e.getCause() instanceof RuntimeException re) throw re;
+                    throw new IllegalStateException("Échec de la simulation.", e.getCause());
+                } catch (InterruptedException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Simulation interrompue.", e);
+                }
+            }
+            return Arrays.asList(results);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
-    private String cleanDNA(String s) {
-        String seq = s.replaceAll("\\s+", "").toUpperCase();
-        if (!seq.matches("[ATCG]+")) throw new IllegalArgumentException("Séquence invalide: uniquement A,T,C,G.");
+    private PackedDna cleanDNA(String s) {
+        PackedDna seq = PackedDna.parse(s);
+        if (seq.length() == 0) throw new IllegalArgumentException(PackedDna.INVALID_MESSAGE);
         if (seq.length() < 5 || seq.length() > 10000) throw new IllegalArgumentException("Longueur invalide (5..10000).");
         return seq;
     }
 
-    private String mutate(String original, MutationType type, int mutationsCount) {
-        StringBuilder sb = new StringBuilder(original);
-        for (int i = 0; i < mutationsCount; i++) {
-            if (sb.length() == 0) break;
-            int pos = rng.nextInt(sb.length());
-            switch (type) {
-                case SUBSTITUTION -> {
-                    char oldBase = sb.charAt(pos);
-                    char newBase = randomBaseDifferent(oldBase);
-                    sb.setCharAt(pos, newBase);
+    // variante + journal de ses modifications (EditLog, dans l'ordre de l'original)
+    record Mutant(PackedDna sequence, EditLog edits) {}
+
+    // Positions tirées d'abord, puis une seule passe sur l'original vers un Builder dimensionné
+    // d'avance : plus de décalage O(n) par modification. Même loi que les tirages séquentiels
+    // d'avant (à chaque modification, position uniforme sur la longueur courante) :
+    //  - SUBSTITUTION : k positions indépendantes, une base différente à chaque passage
+    //  - DELETION : l'ensemble supprimé est un sous-ensemble uniforme de taille k
+    //  - INSERTION : « insérer avant un élément uniforme » est une urne de Pólya ; le nombre de
+    //    bases insérées avant chaque base d'origine suit une composition uniforme de k en n
+    //    parts, soit k étoiles parmi n + k - 1 places (la dernière base d'origine ferme)
+    // Codes 2 bits : A=0, C=1, G=2, T=3.
+    static Mutant mutate(PackedDna original, MutationType type, int mutationsCount, SplittableRandom rng) {
+        byte[] codes = original.toCodes();
+        int n = codes.length;
+        int k = type == MutationType.DELETION ? Math.min(mutationsCount, n) : mutationsCount;
+        PackedDna.Builder out = new PackedDna.Builder(type == MutationType.INSERTION ? n + k : n);
+        int[] positions = new int[k];
+        byte[] bases = new byte[k];
+        int size = 0;
+
+        switch (type) {
+            case SUBSTITUTION -> {
+                int[] hits = new int[n];
+                for (int e = 0; e < k; e++) hits[rng.nextInt(n)]++;
+                for (int i = 0; i < n; i++) {
+                    byte b = codes[i];
+                    for (int h = hits[i]; h > 0; h--) b = randomBaseDifferent(b, rng);
+                    if (b != codes[i]) {
+                        positions[size] = i;
+                        bases[size++] = b;
+                    }
+                    out.append(b);
+                }
+            }
+            case DELETION -> {
+                boolean[] deleted = sample(n, k, rng);
+                for (int i = 0; i < n; i++) {
+                    if (deleted[i]) positions[size++] = i;
+                    else out.append(codes[i]);
                 }
-                case DELETION -> sb.deleteCharAt(pos);
-                case INSERTION -> sb.insert(pos, BASES[rng.nextInt(BASES.length)]);
             }
+            case INSERTION -> {
+                boolean[] inserted = sample(n + k - 1, k, rng);
+                for (int p = 0, i = 0; p < n + k - 1; p++) {
+                    if (inserted[p]) {
+                        byte b = (byte) rng.nextInt(4);
+                        positions[size] = i;
+                        bases[size++] = b;
+                        out.append(b);
+                    } else {
+                        out.append(codes[i++]);
+                    }
+                }
+                out.append(codes[n - 1]);
+            }
+        }
+        return new Mutant(out.build(), new EditLog(type, positions, bases, size));
+    }
+
+    // sous-ensemble uniforme de taille k de [0, n), algorithme de Floyd (k tirages)
+    private static boolean[] sample(int n, int k, SplittableRandom rng) {
+        boolean[] chosen = new boolean[n];
+        for (int j = n - k; j < n; j++) {
+            int t = rng.nextInt(j + 1);
+            chosen[chosen[t] ? j : t] = true;
         }
-        return sb.toString();
+        return chosen;
     }
 
-    private char randomBaseDifferent(char oldBase) {
-        char b;
-        do { b = BASES[rng.nextInt(BASES.length)]; } while (b == oldBase);
-        return b;
+    // une des trois autres bases, uniformément, en un seul tirage
+    private static byte randomBaseDifferent(byte oldBase, SplittableRandom rng) {
+        return (byte) ((oldBase + 1 + rng.nextInt(3)) & 3);
     }
 
     public Map<String, Long> stats() {
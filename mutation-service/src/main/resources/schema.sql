@@ -0,0 +1,5 @@
+-- Exécuté après la mise à jour du schéma par Hibernate (defer-datasource-initialization).
+-- Les alignements des variantes sont stockés en script d'édition (cigar) : les anciennes
+-- colonnes de texte aligné ne sont plus remplies pour les nouvelles lignes.
+ALTER TABLE mutation_variants ALTER COLUMN aligned_original DROP NOT NULL;
+ALTER TABLE mutation_variants ALTER COLUMN aligned_mutated DROP NOT NULL;
@@ -0,0 +1,103 @@
+package com.example.algobio.mutation.service;
+
+import com.example.algobio.alignment.algorithm.NeedlemanWunsch;
+import com.example.algobio.common.dna.PackedDna;
+import com.example.algobio.mutation.dto.AlignmentResponse;
+import com.example.algobio.mutation.dto.MutationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ------------------------------------------------------
+// mutate() en une passe contre les tirages séquentiels d'origine
+// ------------------------------------------------------
+// Sur une petite séquence, on dénombre les variantes produites par les deux générateurs et on
+// compare les deux histogrammes par un khi-deux à deux échantillons. Graine fixe : le test est
+// déterministe, le seuil (df + 6 écarts-types) ne sert qu'à fixer la tolérance une fois pour toutes.
+class MutateDistributionTest {
+
+    private static final long SEED = 20240517L;
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void sameLawAsSequentialPicks() {
+        SplittableRandom rng = new SplittableRandom(SEED);
+        PackedDna original = PackedDna.parse("ACGTA");
+        for (MutationType type : MutationType.values()) {
+            for (int k : new int[]{1, 3, 5}) {
+                Map<String, int[]> counts = new HashMap<>();
+                for (int s = 0; s < SAMPLES; s++) {
+                    counts.computeIfAbsent(sequential(original, type, k, rng).toString(), x -> new int[2])[0]++;
+                    counts.computeIfAbsent(MutationService.mutate(original, type, k, rng).sequence().toString(),
+                            x -> new int[2])[1]++;
+                }
+                double chi2 = 0;
+                for (int[] c : counts.values()) chi2 += (double) (c[0] - c[1]) * (c[0] - c[1]) / (c[0] + c[1]);
+                int df = Math.max(1, counts.size() - 1);
+                assertTrue(chi2 < df + 6 * Math.sqrt(2.0 * df),
+                        type + " k=" + k + " : khi-deux " + chi2 + " pour " + df + " ddl");
+            }
+        }
+    }
+
+    // le journal reconstruit l'original et le mutant ; sans substitution son score est celui de NW
+    @Test
+    void editLogRebuildsBothSequences() {
+        SplittableRandom rng = new SplittableRandom(SEED + 1);
+        for (int t = 0; t < 2000; t++) {
+            int n = 5 + rng.nextInt(300);
+            PackedDna original = random(rng, n);
+            MutationType type = MutationType.values()[rng.nextInt(MutationType.values().length)];
+            int k = Math.max(1, (int) Math.round(n * rng.nextDouble()));
+            MutationService.Mutant mutant = MutationService.mutate(original, type, k, rng);
+            String o = original.toString();
+            String m = mutant.sequence().toString();
+
+            AlignmentResponse global = mutant.edits().align(o, false);
+            assertEquals(o, global.getAlignedSeq1().replace("-", ""), type + " k=" + k);
+            assertEquals(m, global.getAlignedSeq2().replace("-", ""), type + " k=" + k);
+            if (type != MutationType.SUBSTITUTION) {
+                assertEquals(NeedlemanWunsch.align(original, mutant.sequence()).score(), global.getScore(),
+                        type + " k=" + k);
+            }
+
+            AlignmentResponse local = mutant.edits().align(o, true);
+            assertTrue(o.startsWith(local.getAlignedSeq1().replace("-", ""), local.getAlignStart1()));
+            assertTrue(m.startsWith(local.getAlignedSeq2().replace("-", ""), local.getAlignStart2()));
+        }
+    }
+
+    // générateur d'avant : à chaque mutation, position uniforme sur la longueur courante
+    private static PackedDna sequential(PackedDna original, MutationType type, int k, SplittableRandom rng) {
+        int len = original.length();
+        byte[] codes = Arrays.copyOf(original.toCodes(), len + (type == MutationType.INSERTION ? k : 0));
+        for (int e = 0; e < k && len > 0; e++) {
+            int pos = rng.nextInt(len);
+            switch (type) {
+                case SUBSTITUTION -> codes[pos] = (byte) ((codes[pos] + 1 + rng.nextInt(3)) & 3);
+                case DELETION -> {
+                    System.arraycopy(codes, pos + 1, codes, pos, len - pos - 1);
+                    len--;
+                }
+                case INSERTION -> {
+                    System.arraycopy(codes, pos, codes, pos + 1, len - pos);
+                    codes[pos] = (byte) rng.nextInt(4);
+                    len++;
+                }
+            }
+        }
+        return PackedDna.fromCodes(codes, 0, len);
+    }
+
+    private static PackedDna random(SplittableRandom rng, int n) {
+        PackedDna.Builder b = new PackedDna.Builder(n);
+        for (int i = 0; i < n; i++) b.append(rng.nextInt(4));
+        return b.build();
+    }
+}